@@ -1,7 +1,9 @@
 package com.LMS.Learning_Management_System;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
+@EnableScheduling
 public class LearningManagementSystemApplication {
 
 	public static void main(String[] args) {
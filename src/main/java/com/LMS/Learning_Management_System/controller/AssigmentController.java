@@ -3,19 +3,25 @@ package com.LMS.Learning_Management_System.controller;
 import com.LMS.Learning_Management_System.dto.AssignmentDto;
 import com.LMS.Learning_Management_System.dto.GetFeedbackDto;
 import com.LMS.Learning_Management_System.dto.GradeAssignmentDto;
+import com.LMS.Learning_Management_System.dto.PeerReviewAllocationDto;
 import com.LMS.Learning_Management_System.dto.SaveAssignmentDto;
+import com.LMS.Learning_Management_System.dto.SimilarityReportDto;
 import com.LMS.Learning_Management_System.entity.Assignment;
 import com.LMS.Learning_Management_System.entity.Course;
 import com.LMS.Learning_Management_System.entity.Student;
 import com.LMS.Learning_Management_System.entity.Submission;
 import com.LMS.Learning_Management_System.service.AssignmentService;
 import com.LMS.Learning_Management_System.service.NotificationsService;
+import com.LMS.Learning_Management_System.service.PeerReviewService;
+import com.LMS.Learning_Management_System.service.SubmissionSimilarityService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 @RestController
@@ -23,10 +29,15 @@ import java.util.List;
 public class AssigmentController {
     private final AssignmentService assignmentService;
     private final NotificationsService notificationsService;
+    private final SubmissionSimilarityService submissionSimilarityService;
+    private final PeerReviewService peerReviewService;
 
-    public AssigmentController(AssignmentService assignmentService, NotificationsService notificationsService) {
+    public AssigmentController(AssignmentService assignmentService, NotificationsService notificationsService,
+                               SubmissionSimilarityService submissionSimilarityService, PeerReviewService peerReviewService) {
         this.assignmentService = assignmentService;
         this.notificationsService = notificationsService;
+        this.submissionSimilarityService = submissionSimilarityService;
+        this.peerReviewService = peerReviewService;
     }
     @PostMapping("/add_assignment")
     public ResponseEntity<String> addAssignment(@RequestBody AssignmentDto assignment , HttpServletRequest request)
@@ -40,6 +51,17 @@ public class AssigmentController {
         }
     }
 
+    @PutMapping("/due_date/{assignmentId}")
+    public ResponseEntity<String> updateDueDate(@PathVariable int assignmentId, @RequestBody AssignmentDto assignment,
+                                                HttpServletRequest request) {
+        try {
+            assignmentService.updateDueDate(assignmentId, assignment.getDueDate(), request);
+            return ResponseEntity.ok("Due date updated successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/uploadAssignment")
     public ResponseEntity<String> uploadAssignment(@RequestBody AssignmentDto assignment, HttpServletRequest request){
         try {
@@ -50,6 +72,20 @@ public class AssigmentController {
         }
     }
 
+    @PostMapping("/uploadAssignmentFile/{assignmentId}")
+    public ResponseEntity<String> uploadAssignmentFile(@PathVariable int assignmentId,
+                                                       @RequestParam("file") MultipartFile file,
+                                                       HttpServletRequest request){
+        try {
+            assignmentService.uploadAssignmentFile(assignmentId, file, request);
+            return ResponseEntity.ok("Assignment uploaded successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/gradeAssignment")
     public ResponseEntity<String> gradeAssignment(@RequestBody GradeAssignmentDto gradeAssignmentDto, HttpServletRequest request){
         try {
@@ -82,16 +118,55 @@ public class AssigmentController {
     }
 
     @GetMapping("/submissions/{assignmentId}")
-    public ResponseEntity <List <String>> trackAssignmentSubmissions (@PathVariable int assignmentId, HttpServletRequest request)
+    public ResponseEntity<?> trackAssignmentSubmissions(@PathVariable int assignmentId,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "50") int size,
+                                                        @RequestParam(required = false) String sort,
+                                                        @RequestParam(required = false) String direction,
+                                                        HttpServletRequest request)
     {
         try
         {
-            List <String> submissions = assignmentService.assignmentSubmissions(assignmentId, request);
-            return ResponseEntity.ok(submissions);
+            return ResponseEntity.ok(assignmentService.assignmentSubmissions(assignmentId, page, size, sort, direction, request));
         }
         catch (IllegalArgumentException e)
         {
-            return ResponseEntity.badRequest().body(Collections.singletonList(e.getMessage()));
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/submissions/{assignmentId}/export")
+    public void exportSubmissions(@PathVariable int assignmentId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            assignmentService.exportSubmissions(assignmentId, request, response);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType("text/plain");
+            response.getWriter().write(e.getMessage());
+        }
+    }
+
+    @GetMapping("/similarity/{assignmentId}")
+    public ResponseEntity<?> findSimilarSubmissions(@PathVariable int assignmentId,
+                                                    @RequestParam(value = "threshold", required = false) Double threshold,
+                                                    HttpServletRequest request) {
+        try {
+            SimilarityReportDto report = submissionSimilarityService.findSimilarPairs(assignmentId, threshold, request);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/peer_review/{assignmentId}")
+    public ResponseEntity<?> assignPeerReviews(@PathVariable int assignmentId,
+                                               @RequestParam(value = "reviewers", defaultValue = "3") int reviewers,
+                                               HttpServletRequest request) {
+        try {
+            PeerReviewAllocationDto allocation = peerReviewService.assignPeerReviews(assignmentId, reviewers, request);
+            return ResponseEntity.ok(allocation);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 }
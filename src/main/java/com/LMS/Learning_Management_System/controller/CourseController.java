@@ -1,23 +1,33 @@
 package com.LMS.Learning_Management_System.controller;
 
+import com.LMS.Learning_Management_System.dto.ChunkedUploadDto;
 import com.LMS.Learning_Management_System.dto.CourseDto;
 import com.LMS.Learning_Management_System.entity.Course;
 import com.LMS.Learning_Management_System.entity.Lesson;
+import com.LMS.Learning_Management_System.service.ChunkedUploadService;
+import com.LMS.Learning_Management_System.service.CourseMediaService;
 import com.LMS.Learning_Management_System.service.CourseService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/course")
 public class CourseController {
     private final CourseService courseService;
-    public CourseController(CourseService courseService) {
+    private final CourseMediaService courseMediaService;
+    private final ChunkedUploadService chunkedUploadService;
+    public CourseController(CourseService courseService, CourseMediaService courseMediaService,
+                            ChunkedUploadService chunkedUploadService) {
         this.courseService = courseService;
+        this.courseMediaService = courseMediaService;
+        this.chunkedUploadService = chunkedUploadService;
     }
     @PostMapping("/add_course")
     public ResponseEntity<String> addCourse(@RequestBody Course course ,HttpServletRequest request)
@@ -75,6 +85,19 @@ public class CourseController {
     }
 
 
+    @GetMapping("/media/{courseId}")
+    public void downloadMedia(@PathVariable int courseId,
+                              @RequestParam(value = "size", required = false) Integer size,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            courseMediaService.serveMedia(courseId, size, request, response);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType("text/plain");
+            response.getWriter().write(e.getMessage());
+        }
+    }
+
     @PostMapping("/upload_media/{courseId}")
     public ResponseEntity<String> uploadMedia(@PathVariable int courseId,
                                               @RequestParam("file") MultipartFile file,
@@ -89,5 +112,67 @@ public class CourseController {
         }
     }
 
+    @PostMapping("/upload_media/{courseId}/chunked")
+    public ResponseEntity<?> initChunkedUpload(@PathVariable int courseId,
+                                               @RequestParam("fileName") String fileName,
+                                               @RequestParam("totalSize") long totalSize,
+                                               @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+                                               HttpServletRequest request) {
+        try {
+            ChunkedUploadDto upload = chunkedUploadService.init(courseId, fileName, totalSize, chunkSize, request);
+            return ResponseEntity.ok(upload);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
+        }
+    }
+
+    // raw chunk bytes as the request body; chunks may be sent in any order and in parallel
+    @PutMapping("/upload_media/chunked/{uploadId}/{index}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+                                         HttpServletRequest request) throws IOException {
+        try {
+            ChunkedUploadDto upload = chunkedUploadService.uploadChunk(uploadId, index, request.getInputStream(), request);
+            return ResponseEntity.ok(upload);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/upload_media/chunked/{uploadId}")
+    public ResponseEntity<?> getChunkedUpload(@PathVariable String uploadId, HttpServletRequest request) {
+        try {
+            ChunkedUploadDto upload = chunkedUploadService.getStatus(uploadId, request);
+            return ResponseEntity.ok(upload);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/upload_media/chunked/{uploadId}/complete")
+    public ResponseEntity<String> completeChunkedUpload(@PathVariable String uploadId, HttpServletRequest request) {
+        try {
+            chunkedUploadService.complete(uploadId, request);
+            return ResponseEntity.ok("File uploaded successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/upload_media/chunked/{uploadId}")
+    public ResponseEntity<String> abortChunkedUpload(@PathVariable String uploadId, HttpServletRequest request) {
+        try {
+            chunkedUploadService.abort(uploadId, request);
+            return ResponseEntity.ok("Upload aborted.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
 }
 // ResponseEntity<?> is a flexible way to represent HTTP responses with different types of body content in Spring controllers
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.LMS.Learning_Management_System.controller;
+
+import com.LMS.Learning_Management_System.dto.GradingPolicyDto;
+import com.LMS.Learning_Management_System.service.GradebookService;
+import com.LMS.Learning_Management_System.service.GradingPolicyService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/gradebook")
+public class GradebookController {
+    private final GradebookService gradebookService;
+    private final GradingPolicyService gradingPolicyService;
+
+    public GradebookController(GradebookService gradebookService, GradingPolicyService gradingPolicyService) {
+        this.gradebookService = gradebookService;
+        this.gradingPolicyService = gradingPolicyService;
+    }
+
+    @GetMapping("/{courseId}")
+    public ResponseEntity<?> getGradebook(@PathVariable int courseId,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "50") int size,
+                                          @RequestParam(required = false) String sort,
+                                          @RequestParam(required = false) String direction,
+                                          HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(gradebookService.getGradebook(courseId, page, size, sort, direction, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{courseId}/export")
+    public void exportGradebook(@PathVariable int courseId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            gradebookService.exportCsv(courseId, request, response);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType("text/plain");
+            response.getWriter().write(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{courseId}/rebuild")
+    public ResponseEntity<String> rebuildGradebook(@PathVariable int courseId, HttpServletRequest request) {
+        try {
+            gradebookService.rebuild(courseId, request);
+            return ResponseEntity.ok("Gradebook rebuilt successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{courseId}/policy")
+    public ResponseEntity<?> getPolicy(@PathVariable int courseId, HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(gradingPolicyService.getPolicy(courseId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{courseId}/policy")
+    public ResponseEntity<String> updatePolicy(@PathVariable int courseId, @RequestBody GradingPolicyDto policy,
+                                               HttpServletRequest request) {
+        try {
+            int graded = gradingPolicyService.updatePolicy(courseId, policy, request);
+            return ResponseEntity.ok("Grading policy updated; final grades recomputed for " + graded + " students.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{courseId}/final_grades/recompute")
+    public ResponseEntity<String> recomputeFinalGrades(@PathVariable int courseId, HttpServletRequest request) {
+        try {
+            int graded = gradingPolicyService.recompute(courseId, request);
+            return ResponseEntity.ok("Final grades recomputed for " + graded + " students.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{courseId}/final_grades")
+    public ResponseEntity<?> getFinalGrades(@PathVariable int courseId,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String direction,
+                                            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(gradingPolicyService.getFinalGrades(courseId, page, size, sort, direction, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
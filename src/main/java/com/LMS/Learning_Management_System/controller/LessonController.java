@@ -1,15 +1,18 @@
 package com.LMS.Learning_Management_System.controller;
 
 import com.LMS.Learning_Management_System.dto.LessonDto;
+import com.LMS.Learning_Management_System.dto.LessonSummaryDto;
 import com.LMS.Learning_Management_System.entity.Course;
 import com.LMS.Learning_Management_System.entity.Lesson;
 import com.LMS.Learning_Management_System.service.LessonService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -32,12 +35,30 @@ public class LessonController {
     @GetMapping("/get_all_lessons/{courseId}")
     public ResponseEntity<?> getAllLessons(@PathVariable int courseId , HttpServletRequest request) {
         try {
-            List<LessonDto> lessons = lessonService.getLessonsByCourseId(courseId , request);
+            List<LessonSummaryDto> lessons = lessonService.getLessonsByCourseId(courseId , request);
             return ResponseEntity.ok(lessons);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+    @GetMapping("/content/lesson_id/{lessonId}")
+    public void getLessonContent(@PathVariable int lessonId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            lessonService.writeLessonContent(lessonId, request, response);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType("text/plain");
+            response.getWriter().write(e.getMessage());
+        }
+    }
+    @GetMapping(value = "/content_html/lesson_id/{lessonId}", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> getLessonHtml(@PathVariable int lessonId, HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(lessonService.getLessonHtml(lessonId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+    }
     @GetMapping("/lesson_id/{lessonId}")
     public ResponseEntity<?> getLessonById(@PathVariable int lessonId , HttpServletRequest request) {
         try {
@@ -60,6 +81,29 @@ public class LessonController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+    @PutMapping("/reorder/course_id/{courseId}")
+    public ResponseEntity<String> reorderLessons(@PathVariable int courseId, @RequestBody List<Integer> lessonIds,
+                                                 HttpServletRequest request) {
+        try {
+            lessonService.reorderLessons(courseId, lessonIds, request);
+            return ResponseEntity.ok("Lessons reordered successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/move/lesson_id/{lessonId}")
+    public ResponseEntity<String> moveLesson(@PathVariable int lessonId,
+                                             @RequestParam(required = false) Integer after,
+                                             HttpServletRequest request) {
+        try {
+            lessonService.moveLesson(lessonId, after, request);
+            return ResponseEntity.ok("Lesson moved successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/delete/lesson_id/{lessonId}/course_id/{courseId}")
     public ResponseEntity<String> deleteLesson(@PathVariable int lessonId , @PathVariable int courseId,HttpServletRequest request) {
         try {
@@ -84,17 +128,50 @@ public class LessonController {
         }
     }
 
+    @GetMapping("/otp/lesson_id/{lessonId}")
+    public ResponseEntity<?> currentOtp(@PathVariable int lessonId, HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(lessonService.currentOtp(lessonId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/attendance_stats/lessons/course_id/{courseId}")
+    public ResponseEntity<?> lessonTurnout(@PathVariable int courseId, HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(lessonService.lessonTurnout(courseId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/attendance_stats/students/course_id/{courseId}")
+    public ResponseEntity<?> studentAttendanceRates(@PathVariable int courseId,
+                                                    @RequestParam(required = false) Double below,
+                                                    HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(lessonService.studentAttendanceRates(courseId, below, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/attendances/{lessonId}")
-    public ResponseEntity <List <String>> trackLessonAttendances (@PathVariable int lessonId, HttpServletRequest request)
+    public ResponseEntity<?> trackLessonAttendances(@PathVariable int lessonId,
+                                                    @RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "50") int size,
+                                                    @RequestParam(required = false) String sort,
+                                                    @RequestParam(required = false) String direction,
+                                                    HttpServletRequest request)
     {
         try
         {
-            List <String> submissions = lessonService.lessonAttendance(lessonId, request);
-            return ResponseEntity.ok(submissions);
+            return ResponseEntity.ok(lessonService.lessonAttendance(lessonId, page, size, sort, direction, request));
         }
         catch (IllegalArgumentException e)
         {
-            return ResponseEntity.badRequest().body(Collections.singletonList(e.getMessage()));
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.LMS.Learning_Management_System.controller;
 
+import com.LMS.Learning_Management_System.dto.AdaptiveAnswerDto;
 import com.LMS.Learning_Management_System.dto.CourseDto;
 import com.LMS.Learning_Management_System.dto.GradingDto;
 import com.LMS.Learning_Management_System.dto.QuestionDto;
@@ -12,8 +13,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/quiz")
@@ -47,7 +48,7 @@ public class QuizController {
     public ResponseEntity<?> addQuiz(@RequestBody QuizDto quizDto, HttpServletRequest request)
     {
         try {
-            int quiz_id = quizService.Create(quizDto.getCourse_id(),quizDto.getType(), request);
+            int quiz_id = quizService.Create(quizDto.getCourse_id(),quizDto.getType(), quizDto.isAdaptive(), quizDto.isShuffled(), request);
             return ResponseEntity.ok("Quiz created successfully. Use this id: "+quiz_id+" to enter the quiz");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -57,8 +58,14 @@ public class QuizController {
     public ResponseEntity<?> addQuestionsBank(@RequestBody QuizDto quizDto, HttpServletRequest request)
     {
         try {
-            quizService.createQuestionBank(quizDto.getCourse_id(),quizDto.getQuestionList(),request);
-            return ResponseEntity.ok("Question bank created successfully for the course id: "+quizDto.getCourse_id());
+            Map<Integer, List<Integer>> skipped = quizService.createQuestionBank(quizDto.getCourse_id(),quizDto.getQuestionList(),request);
+            StringBuilder message = new StringBuilder("Question bank created successfully for the course id: "+quizDto.getCourse_id());
+            if (!skipped.isEmpty()) {
+                message.append(" (").append(skipped.size()).append(" near-duplicate questions skipped:");
+                skipped.forEach((position, ids) -> message.append(" #").append(position).append(" matches questions ").append(ids).append(';'));
+                message.setCharAt(message.length() - 1, ')');
+            }
+            return ResponseEntity.ok(message.toString());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -75,11 +82,29 @@ public class QuizController {
     }
 
     @GetMapping("/get_question_bank/{id}")
-    public ResponseEntity<?> getQuestionBank(@PathVariable int id, HttpServletRequest request)
+    public ResponseEntity<?> getQuestionBank(@PathVariable int id,
+                                             @RequestParam(required = false) Integer type,
+                                             @RequestParam(required = false) Boolean assigned,
+                                             @RequestParam(required = false) String text,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "50") int size,
+                                             HttpServletRequest request)
     {
         try {
-            QuizDto quizDto=quizService.getQuestionBank(id,request);
-            return ResponseEntity.ok(quizDto.getQuestionList());
+            return ResponseEntity.ok(quizService.getQuestionBank(id,type,assigned,text,page,size,request));
+        } catch (Exception  e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/search_question_bank/{id}")
+    public ResponseEntity<?> searchQuestionBank(@PathVariable int id,
+                                                @RequestParam("q") String query,
+                                                @RequestParam(defaultValue = "20") int limit,
+                                                HttpServletRequest request)
+    {
+        try {
+            return ResponseEntity.ok(quizService.searchQuestionBank(id,query,limit,request));
         } catch (Exception  e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -119,17 +144,44 @@ public class QuizController {
         }
     }
 
+    @GetMapping("/adaptive/next/{quizId}")
+    public ResponseEntity<?> getNextAdaptiveQuestion(@PathVariable int quizId, HttpServletRequest request)
+    {
+        try {
+            return ResponseEntity.ok(quizService.nextAdaptiveQuestion(quizId,request));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/adaptive/answer/{quizId}")
+    public ResponseEntity<?> answerAdaptiveQuestion(@PathVariable int quizId, @RequestBody AdaptiveAnswerDto answerDto, HttpServletRequest request)
+    {
+        try {
+            QuestionDto next = quizService.answerAdaptiveQuestion(quizId,answerDto,request);
+            if (next == null)
+                return ResponseEntity.ok("Quiz has been graded for the student");
+            return ResponseEntity.ok(next);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/grades/{quizId}")
-    public ResponseEntity <List<String>> trackQuizGrades (@PathVariable int quizId, HttpServletRequest request)
+    public ResponseEntity<?> trackQuizGrades(@PathVariable int quizId,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "50") int size,
+                                             @RequestParam(required = false) String sort,
+                                             @RequestParam(required = false) String direction,
+                                             HttpServletRequest request)
     {
         try
         {
-            List <String> submissions = quizService.quizGrades(quizId, request);
-            return ResponseEntity.ok(submissions);
+            return ResponseEntity.ok(quizService.quizGrades(quizId, page, size, sort, direction, request));
         }
         catch (IllegalArgumentException e)
         {
-            return ResponseEntity.badRequest().body(Collections.singletonList(e.getMessage()));
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 }
@@ -0,0 +1,22 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class AdaptiveAnswerDto {
+    private int question_id;
+    private String answer;
+
+    public int getQuestion_id() {
+        return question_id;
+    }
+
+    public void setQuestion_id(int question_id) {
+        this.question_id = question_id;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+}
@@ -1,10 +1,13 @@
 package com.LMS.Learning_Management_System.dto;
 
+import java.util.Date;
+
 public class AssignmentDto {
     private int assignmentId;
     private String assignmentTitle;
     private String assignmentDescription;
     private int courseId;
+    private Date dueDate;
 
     public int getAssignmentId() {
         return assignmentId;
@@ -38,6 +41,11 @@ public class AssignmentDto {
         this.courseId = courseId;
     }
 
-}
-
+    public Date getDueDate() {
+        return dueDate;
+    }
 
+    public void setDueDate(Date dueDate) {
+        this.dueDate = dueDate;
+    }
+}
@@ -0,0 +1,80 @@
+package com.LMS.Learning_Management_System.dto;
+
+import java.util.List;
+
+public class ChunkedUploadDto {
+    private String upload_id;
+    private String file_name;
+    private long total_size;
+    private int chunk_size;
+    private int total_chunks;
+    private int received_chunks;
+    private List<Integer> missing_chunks;
+
+    public ChunkedUploadDto(String upload_id, String file_name, long total_size, int chunk_size, int total_chunks,
+                            int received_chunks, List<Integer> missing_chunks) {
+        this.upload_id = upload_id;
+        this.file_name = file_name;
+        this.total_size = total_size;
+        this.chunk_size = chunk_size;
+        this.total_chunks = total_chunks;
+        this.received_chunks = received_chunks;
+        this.missing_chunks = missing_chunks;
+    }
+
+    public String getUpload_id() {
+        return upload_id;
+    }
+
+    public void setUpload_id(String upload_id) {
+        this.upload_id = upload_id;
+    }
+
+    public String getFile_name() {
+        return file_name;
+    }
+
+    public void setFile_name(String file_name) {
+        this.file_name = file_name;
+    }
+
+    public long getTotal_size() {
+        return total_size;
+    }
+
+    public void setTotal_size(long total_size) {
+        this.total_size = total_size;
+    }
+
+    public int getChunk_size() {
+        return chunk_size;
+    }
+
+    public void setChunk_size(int chunk_size) {
+        this.chunk_size = chunk_size;
+    }
+
+    public int getTotal_chunks() {
+        return total_chunks;
+    }
+
+    public void setTotal_chunks(int total_chunks) {
+        this.total_chunks = total_chunks;
+    }
+
+    public int getReceived_chunks() {
+        return received_chunks;
+    }
+
+    public void setReceived_chunks(int received_chunks) {
+        this.received_chunks = received_chunks;
+    }
+
+    public List<Integer> getMissing_chunks() {
+        return missing_chunks;
+    }
+
+    public void setMissing_chunks(List<Integer> missing_chunks) {
+        this.missing_chunks = missing_chunks;
+    }
+}
@@ -0,0 +1,62 @@
+package com.LMS.Learning_Management_System.dto;
+
+import java.util.Date;
+
+public class FinalGradeDto {
+    private int student_id;
+    private String first_name;
+    private String last_name;
+    private double final_score;
+    private Date computed_at;
+
+    public FinalGradeDto() {
+    }
+
+    public FinalGradeDto(int student_id, String first_name, String last_name, double final_score, Date computed_at) {
+        this.student_id = student_id;
+        this.first_name = first_name;
+        this.last_name = last_name;
+        this.final_score = final_score;
+        this.computed_at = computed_at;
+    }
+
+    public int getStudent_id() {
+        return student_id;
+    }
+
+    public void setStudent_id(int student_id) {
+        this.student_id = student_id;
+    }
+
+    public String getFirst_name() {
+        return first_name;
+    }
+
+    public void setFirst_name(String first_name) {
+        this.first_name = first_name;
+    }
+
+    public String getLast_name() {
+        return last_name;
+    }
+
+    public void setLast_name(String last_name) {
+        this.last_name = last_name;
+    }
+
+    public double getFinal_score() {
+        return final_score;
+    }
+
+    public void setFinal_score(double final_score) {
+        this.final_score = final_score;
+    }
+
+    public Date getComputed_at() {
+        return computed_at;
+    }
+
+    public void setComputed_at(Date computed_at) {
+        this.computed_at = computed_at;
+    }
+}
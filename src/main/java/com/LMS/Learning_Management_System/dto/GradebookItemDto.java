@@ -0,0 +1,47 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class GradebookItemDto {
+    private String item_type;
+    private int item_id;
+    private float score;
+    private Float max_score;
+
+    public GradebookItemDto(String item_type, int item_id, float score, Float max_score) {
+        this.item_type = item_type;
+        this.item_id = item_id;
+        this.score = score;
+        this.max_score = max_score;
+    }
+
+    public String getItem_type() {
+        return item_type;
+    }
+
+    public void setItem_type(String item_type) {
+        this.item_type = item_type;
+    }
+
+    public int getItem_id() {
+        return item_id;
+    }
+
+    public void setItem_id(int item_id) {
+        this.item_id = item_id;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public Float getMax_score() {
+        return max_score;
+    }
+
+    public void setMax_score(Float max_score) {
+        this.max_score = max_score;
+    }
+}
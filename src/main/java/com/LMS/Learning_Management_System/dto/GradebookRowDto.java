@@ -0,0 +1,83 @@
+package com.LMS.Learning_Management_System.dto;
+
+import java.util.List;
+
+public class GradebookRowDto {
+    private int student_id;
+    private String first_name;
+    private String last_name;
+    private double total_score;
+    private double total_max;
+    private int graded_items;
+    private List<GradebookItemDto> items;
+
+    public GradebookRowDto(int student_id, String first_name, String last_name, double total_score, double total_max,
+                           int graded_items) {
+        this.student_id = student_id;
+        this.first_name = first_name;
+        this.last_name = last_name;
+        this.total_score = total_score;
+        this.total_max = total_max;
+        this.graded_items = graded_items;
+    }
+
+    public int getStudent_id() {
+        return student_id;
+    }
+
+    public void setStudent_id(int student_id) {
+        this.student_id = student_id;
+    }
+
+    public String getFirst_name() {
+        return first_name;
+    }
+
+    public void setFirst_name(String first_name) {
+        this.first_name = first_name;
+    }
+
+    public String getLast_name() {
+        return last_name;
+    }
+
+    public void setLast_name(String last_name) {
+        this.last_name = last_name;
+    }
+
+    public double getTotal_score() {
+        return total_score;
+    }
+
+    public void setTotal_score(double total_score) {
+        this.total_score = total_score;
+    }
+
+    public double getTotal_max() {
+        return total_max;
+    }
+
+    public void setTotal_max(double total_max) {
+        this.total_max = total_max;
+    }
+
+    public Double getPercentage() {
+        return total_max > 0 ? total_score * 100 / total_max : null;
+    }
+
+    public int getGraded_items() {
+        return graded_items;
+    }
+
+    public void setGraded_items(int graded_items) {
+        this.graded_items = graded_items;
+    }
+
+    public List<GradebookItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<GradebookItemDto> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,70 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class GradingPolicyDto {
+    private float quiz_weight;
+    private float assignment_weight;
+    private int quiz_drop_lowest;
+    private int assignment_drop_lowest;
+    private float late_penalty_per_day;
+    private float max_late_penalty;
+
+    public GradingPolicyDto() {
+    }
+
+    public GradingPolicyDto(float quiz_weight, float assignment_weight, int quiz_drop_lowest, int assignment_drop_lowest, float late_penalty_per_day, float max_late_penalty) {
+        this.quiz_weight = quiz_weight;
+        this.assignment_weight = assignment_weight;
+        this.quiz_drop_lowest = quiz_drop_lowest;
+        this.assignment_drop_lowest = assignment_drop_lowest;
+        this.late_penalty_per_day = late_penalty_per_day;
+        this.max_late_penalty = max_late_penalty;
+    }
+
+    public float getQuiz_weight() {
+        return quiz_weight;
+    }
+
+    public void setQuiz_weight(float quiz_weight) {
+        this.quiz_weight = quiz_weight;
+    }
+
+    public float getAssignment_weight() {
+        return assignment_weight;
+    }
+
+    public void setAssignment_weight(float assignment_weight) {
+        this.assignment_weight = assignment_weight;
+    }
+
+    public int getQuiz_drop_lowest() {
+        return quiz_drop_lowest;
+    }
+
+    public void setQuiz_drop_lowest(int quiz_drop_lowest) {
+        this.quiz_drop_lowest = quiz_drop_lowest;
+    }
+
+    public int getAssignment_drop_lowest() {
+        return assignment_drop_lowest;
+    }
+
+    public void setAssignment_drop_lowest(int assignment_drop_lowest) {
+        this.assignment_drop_lowest = assignment_drop_lowest;
+    }
+
+    public float getLate_penalty_per_day() {
+        return late_penalty_per_day;
+    }
+
+    public void setLate_penalty_per_day(float late_penalty_per_day) {
+        this.late_penalty_per_day = late_penalty_per_day;
+    }
+
+    public float getMax_late_penalty() {
+        return max_late_penalty;
+    }
+
+    public void setMax_late_penalty(float max_late_penalty) {
+        this.max_late_penalty = max_late_penalty;
+    }
+}
@@ -0,0 +1,37 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class LessonOtpDto {
+    private int lesson_id;
+    private String otp;
+    private long valid_for_seconds;
+
+    public LessonOtpDto(int lesson_id, String otp, long valid_for_seconds) {
+        this.lesson_id = lesson_id;
+        this.otp = otp;
+        this.valid_for_seconds = valid_for_seconds;
+    }
+
+    public int getLesson_id() {
+        return lesson_id;
+    }
+
+    public void setLesson_id(int lesson_id) {
+        this.lesson_id = lesson_id;
+    }
+
+    public String getOtp() {
+        return otp;
+    }
+
+    public void setOtp(String otp) {
+        this.otp = otp;
+    }
+
+    public long getValid_for_seconds() {
+        return valid_for_seconds;
+    }
+
+    public void setValid_for_seconds(long valid_for_seconds) {
+        this.valid_for_seconds = valid_for_seconds;
+    }
+}
@@ -0,0 +1,60 @@
+package com.LMS.Learning_Management_System.dto;
+
+import java.util.Date;
+
+// a lesson in a course outline, without its content
+public class LessonSummaryDto {
+    private int lesson_id;
+    private String lesson_name;
+    private String lesson_description;
+    private int lesson_order;
+    private Date creation_time;
+
+    public LessonSummaryDto(int lesson_id, String lesson_name, String lesson_description, int lesson_order, Date creation_time) {
+        this.lesson_id = lesson_id;
+        this.lesson_name = lesson_name;
+        this.lesson_description = lesson_description;
+        this.lesson_order = lesson_order;
+        this.creation_time = creation_time;
+    }
+
+    public int getLesson_id() {
+        return lesson_id;
+    }
+
+    public void setLesson_id(int lesson_id) {
+        this.lesson_id = lesson_id;
+    }
+
+    public String getLesson_name() {
+        return lesson_name;
+    }
+
+    public void setLesson_name(String lesson_name) {
+        this.lesson_name = lesson_name;
+    }
+
+    public String getLesson_description() {
+        return lesson_description;
+    }
+
+    public void setLesson_description(String lesson_description) {
+        this.lesson_description = lesson_description;
+    }
+
+    public int getLesson_order() {
+        return lesson_order;
+    }
+
+    public void setLesson_order(int lesson_order) {
+        this.lesson_order = lesson_order;
+    }
+
+    public Date getCreation_time() {
+        return creation_time;
+    }
+
+    public void setCreation_time(Date creation_time) {
+        this.creation_time = creation_time;
+    }
+}
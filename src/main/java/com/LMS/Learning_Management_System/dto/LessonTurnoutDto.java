@@ -0,0 +1,47 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class LessonTurnoutDto {
+    private int lesson_id;
+    private int attended;
+    private int enrolled;
+    private double rate;
+
+    public LessonTurnoutDto(int lesson_id, int attended, int enrolled, double rate) {
+        this.lesson_id = lesson_id;
+        this.attended = attended;
+        this.enrolled = enrolled;
+        this.rate = rate;
+    }
+
+    public int getLesson_id() {
+        return lesson_id;
+    }
+
+    public void setLesson_id(int lesson_id) {
+        this.lesson_id = lesson_id;
+    }
+
+    public int getAttended() {
+        return attended;
+    }
+
+    public void setAttended(int attended) {
+        this.attended = attended;
+    }
+
+    public int getEnrolled() {
+        return enrolled;
+    }
+
+    public void setEnrolled(int enrolled) {
+        this.enrolled = enrolled;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.LMS.Learning_Management_System.dto;
+
+import java.util.List;
+
+public class PeerReviewAllocationDto {
+    private int assignment_id;
+    private int reviews_per_submission;
+    private int submissions;
+    private List<PeerReviewDto> reviews;
+
+    public PeerReviewAllocationDto(int assignment_id, int reviews_per_submission, int submissions, List<PeerReviewDto> reviews) {
+        this.assignment_id = assignment_id;
+        this.reviews_per_submission = reviews_per_submission;
+        this.submissions = submissions;
+        this.reviews = reviews;
+    }
+
+    public int getAssignment_id() {
+        return assignment_id;
+    }
+
+    public void setAssignment_id(int assignment_id) {
+        this.assignment_id = assignment_id;
+    }
+
+    public int getReviews_per_submission() {
+        return reviews_per_submission;
+    }
+
+    public void setReviews_per_submission(int reviews_per_submission) {
+        this.reviews_per_submission = reviews_per_submission;
+    }
+
+    public int getSubmissions() {
+        return submissions;
+    }
+
+    public void setSubmissions(int submissions) {
+        this.submissions = submissions;
+    }
+
+    public List<PeerReviewDto> getReviews() {
+        return reviews;
+    }
+
+    public void setReviews(List<PeerReviewDto> reviews) {
+        this.reviews = reviews;
+    }
+}
@@ -0,0 +1,37 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class PeerReviewDto {
+    private int reviewer_id;
+    private int submission_id;
+    private int author_id;
+
+    public PeerReviewDto(int reviewer_id, int submission_id, int author_id) {
+        this.reviewer_id = reviewer_id;
+        this.submission_id = submission_id;
+        this.author_id = author_id;
+    }
+
+    public int getReviewer_id() {
+        return reviewer_id;
+    }
+
+    public void setReviewer_id(int reviewer_id) {
+        this.reviewer_id = reviewer_id;
+    }
+
+    public int getSubmission_id() {
+        return submission_id;
+    }
+
+    public void setSubmission_id(int submission_id) {
+        this.submission_id = submission_id;
+    }
+
+    public int getAuthor_id() {
+        return author_id;
+    }
+
+    public void setAuthor_id(int author_id) {
+        this.author_id = author_id;
+    }
+}
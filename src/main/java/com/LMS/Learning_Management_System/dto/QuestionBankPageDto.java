@@ -0,0 +1,23 @@
+package com.LMS.Learning_Management_System.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+public class QuestionBankPageDto extends PageDto<QuestionDto> {
+    // total questions in the course per type name, independent of the filters
+    private Map<String, Long> countsByType;
+
+    public QuestionBankPageDto(Page<QuestionDto> page, Map<String, Long> countsByType) {
+        super(page);
+        this.countsByType = countsByType;
+    }
+
+    public Map<String, Long> getCountsByType() {
+        return countsByType;
+    }
+
+    public void setCountsByType(Map<String, Long> countsByType) {
+        this.countsByType = countsByType;
+    }
+}
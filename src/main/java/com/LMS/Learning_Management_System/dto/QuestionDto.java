@@ -10,6 +10,18 @@ public class QuestionDto {
     private int course_id;
     private String correct_answer;
 
+    public QuestionDto() {
+    }
+
+    public QuestionDto(int question_id, String question_text, int type, String options, int course_id, String correct_answer) {
+        this.question_id = question_id;
+        this.question_text = question_text;
+        this.type = type;
+        this.options = options;
+        this.course_id = course_id;
+        this.correct_answer = correct_answer;
+    }
+
     public int getQuestion_id() {
         return question_id;
     }
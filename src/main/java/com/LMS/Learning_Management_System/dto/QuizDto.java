@@ -20,6 +20,10 @@ public class QuizDto {
 
     private int course_id;
 
+    private boolean adaptive;
+
+    private boolean shuffled;
+
 
     public int getType() {
         return type;
@@ -70,6 +74,22 @@ public class QuizDto {
         this.course_id = course_id;
     }
 
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public boolean isShuffled() {
+        return shuffled;
+    }
+
+    public void setShuffled(boolean shuffled) {
+        this.shuffled = shuffled;
+    }
+
     public QuizDto(int quizId, String title, Date creation_date) {
         this.quizId = quizId;
         this.title = title;
@@ -0,0 +1,37 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class SimilarPairDto {
+    private int student_a;
+    private int student_b;
+    private double similarity;
+
+    public SimilarPairDto(int student_a, int student_b, double similarity) {
+        this.student_a = student_a;
+        this.student_b = student_b;
+        this.similarity = similarity;
+    }
+
+    public int getStudent_a() {
+        return student_a;
+    }
+
+    public void setStudent_a(int student_a) {
+        this.student_a = student_a;
+    }
+
+    public int getStudent_b() {
+        return student_b;
+    }
+
+    public void setStudent_b(int student_b) {
+        this.student_b = student_b;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+}
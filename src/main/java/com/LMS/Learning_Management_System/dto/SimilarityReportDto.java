@@ -0,0 +1,49 @@
+package com.LMS.Learning_Management_System.dto;
+
+import java.util.List;
+
+public class SimilarityReportDto {
+    private int assignment_id;
+    private int analyzed;
+    private int pending;
+    private List<SimilarPairDto> pairs;
+
+    public SimilarityReportDto(int assignment_id, int analyzed, int pending, List<SimilarPairDto> pairs) {
+        this.assignment_id = assignment_id;
+        this.analyzed = analyzed;
+        this.pending = pending;
+        this.pairs = pairs;
+    }
+
+    public int getAssignment_id() {
+        return assignment_id;
+    }
+
+    public void setAssignment_id(int assignment_id) {
+        this.assignment_id = assignment_id;
+    }
+
+    public int getAnalyzed() {
+        return analyzed;
+    }
+
+    public void setAnalyzed(int analyzed) {
+        this.analyzed = analyzed;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public void setPending(int pending) {
+        this.pending = pending;
+    }
+
+    public List<SimilarPairDto> getPairs() {
+        return pairs;
+    }
+
+    public void setPairs(List<SimilarPairDto> pairs) {
+        this.pairs = pairs;
+    }
+}
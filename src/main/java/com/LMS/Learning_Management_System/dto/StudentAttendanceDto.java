@@ -0,0 +1,47 @@
+package com.LMS.Learning_Management_System.dto;
+
+public class StudentAttendanceDto {
+    private int student_id;
+    private int attended;
+    private int lessons;
+    private double rate;
+
+    public StudentAttendanceDto(int student_id, int attended, int lessons, double rate) {
+        this.student_id = student_id;
+        this.attended = attended;
+        this.lessons = lessons;
+        this.rate = rate;
+    }
+
+    public int getStudent_id() {
+        return student_id;
+    }
+
+    public void setStudent_id(int student_id) {
+        this.student_id = student_id;
+    }
+
+    public int getAttended() {
+        return attended;
+    }
+
+    public void setAttended(int attended) {
+        this.attended = attended;
+    }
+
+    public int getLessons() {
+        return lessons;
+    }
+
+    public void setLessons(int lessons) {
+        this.lessons = lessons;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,69 @@
+package com.LMS.Learning_Management_System.dto;
+
+import java.util.Date;
+
+public class SubmissionReportDto {
+    private int student_id;
+    private String first_name;
+    private String last_name;
+    private Float grade;
+    private Date submitted_at;
+    private boolean has_file;
+
+    public SubmissionReportDto(int student_id, String first_name, String last_name, Float grade, Date submitted_at, boolean has_file) {
+        this.student_id = student_id;
+        this.first_name = first_name;
+        this.last_name = last_name;
+        this.grade = grade;
+        this.submitted_at = submitted_at;
+        this.has_file = has_file;
+    }
+
+    public int getStudent_id() {
+        return student_id;
+    }
+
+    public void setStudent_id(int student_id) {
+        this.student_id = student_id;
+    }
+
+    public String getFirst_name() {
+        return first_name;
+    }
+
+    public void setFirst_name(String first_name) {
+        this.first_name = first_name;
+    }
+
+    public String getLast_name() {
+        return last_name;
+    }
+
+    public void setLast_name(String last_name) {
+        this.last_name = last_name;
+    }
+
+    public Float getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Float grade) {
+        this.grade = grade;
+    }
+
+    public Date getSubmitted_at() {
+        return submitted_at;
+    }
+
+    public void setSubmitted_at(Date submitted_at) {
+        this.submitted_at = submitted_at;
+    }
+
+    public boolean isHas_file() {
+        return has_file;
+    }
+
+    public void setHas_file(boolean has_file) {
+        this.has_file = has_file;
+    }
+}
@@ -1,5 +1,6 @@
 package com.LMS.Learning_Management_System.entity;
 
+import com.LMS.Learning_Management_System.util.CompressedTextConverter;
 import jakarta.persistence.*;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -21,6 +22,7 @@ public class Course {
     @JoinColumn(name = "instructor_id", referencedColumnName = "user_account_id")
     private Instructor instructorId;
 
+    @Convert(converter = CompressedTextConverter.class)
     private String description;
 
     @Column(name = "media", nullable = true, length = 64)
@@ -0,0 +1,74 @@
+package com.LMS.Learning_Management_System.entity;
+
+import jakarta.persistence.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+// a student's course grade in percent under the course's grading policy
+@Entity
+@Table(name = "final_grade",
+        uniqueConstraints = @UniqueConstraint(name = "uk_final_grade_student", columnNames = {"course_id", "student_id"}))
+public class FinalGrade {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "final_grade_id")
+    private int finalGradeId;
+
+    @Column(name = "course_id")
+    private int courseId;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id", referencedColumnName = "user_account_id")
+    private Student student;
+
+    @Column(name = "final_score")
+    private double finalScore;
+
+    @Column(name = "computed_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date computedAt;
+
+    public FinalGrade() {}
+
+    public int getFinalGradeId() {
+        return finalGradeId;
+    }
+
+    public void setFinalGradeId(int finalGradeId) {
+        this.finalGradeId = finalGradeId;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public double getFinalScore() {
+        return finalScore;
+    }
+
+    public void setFinalScore(double finalScore) {
+        this.finalScore = finalScore;
+    }
+
+    public Date getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Date computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -0,0 +1,106 @@
+package com.LMS.Learning_Management_System.entity;
+
+import jakarta.persistence.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+// one graded item (quiz or assignment) of one student, kept in step with grading and submission
+@Entity
+@Table(name = "gradebook_entry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_gradebook_entry_item",
+                columnNames = {"course_id", "student_id", "item_type", "item_id"}))
+public class GradebookEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "gradebook_entry_id")
+    private int gradebookEntryId;
+
+    @Column(name = "course_id")
+    private int courseId;
+
+    @Column(name = "student_id")
+    private int studentId;
+
+    @Column(name = "item_type", length = 16)
+    private String itemType;
+
+    @Column(name = "item_id")
+    private int itemId;
+
+    private float score;
+
+    @Column(name = "max_score")
+    private Float maxScore;
+
+    @Column(name = "updated_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date updatedAt;
+
+    public GradebookEntry() {}
+
+    public int getGradebookEntryId() {
+        return gradebookEntryId;
+    }
+
+    public void setGradebookEntryId(int gradebookEntryId) {
+        this.gradebookEntryId = gradebookEntryId;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public void setItemType(String itemType) {
+        this.itemType = itemType;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(int itemId) {
+        this.itemId = itemId;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public Float getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(Float maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.LMS.Learning_Management_System.entity;
+
+import jakarta.persistence.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+// running totals of a student's gradebook entries in one course
+@Entity
+@Table(name = "gradebook_total",
+        uniqueConstraints = @UniqueConstraint(name = "uk_gradebook_total_student", columnNames = {"course_id", "student_id"}))
+public class GradebookTotal {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "gradebook_total_id")
+    private int gradebookTotalId;
+
+    @Column(name = "course_id")
+    private int courseId;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id", referencedColumnName = "user_account_id")
+    private Student student;
+
+    @Column(name = "total_score")
+    private double totalScore;
+
+    @Column(name = "total_max")
+    private double totalMax;
+
+    @Column(name = "graded_items")
+    private int gradedItems;
+
+    @Column(name = "updated_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date updatedAt;
+
+    public GradebookTotal() {}
+
+    public int getGradebookTotalId() {
+        return gradebookTotalId;
+    }
+
+    public void setGradebookTotalId(int gradebookTotalId) {
+        this.gradebookTotalId = gradebookTotalId;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public double getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(double totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public double getTotalMax() {
+        return totalMax;
+    }
+
+    public void setTotalMax(double totalMax) {
+        this.totalMax = totalMax;
+    }
+
+    public int getGradedItems() {
+        return gradedItems;
+    }
+
+    public void setGradedItems(int gradedItems) {
+        this.gradedItems = gradedItems;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,104 @@
+package com.LMS.Learning_Management_System.entity;
+
+import jakarta.persistence.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+@Entity
+@Table(name = "grading_policy")
+public class GradingPolicy {
+    @Id
+    @Column(name = "course_id")
+    private int courseId;
+
+    @Column(name = "quiz_weight")
+    private float quizWeight;
+
+    @Column(name = "assignment_weight")
+    private float assignmentWeight;
+
+    @Column(name = "quiz_drop_lowest")
+    private int quizDropLowest;
+
+    @Column(name = "assignment_drop_lowest")
+    private int assignmentDropLowest;
+
+    // fraction of the assignment score lost per started day late, capped at maxLatePenalty
+    @Column(name = "late_penalty_per_day")
+    private float latePenaltyPerDay;
+
+    @Column(name = "max_late_penalty")
+    private float maxLatePenalty;
+
+    @Column(name = "updated_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date updatedAt;
+
+    public GradingPolicy() {}
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public float getQuizWeight() {
+        return quizWeight;
+    }
+
+    public void setQuizWeight(float quizWeight) {
+        this.quizWeight = quizWeight;
+    }
+
+    public float getAssignmentWeight() {
+        return assignmentWeight;
+    }
+
+    public void setAssignmentWeight(float assignmentWeight) {
+        this.assignmentWeight = assignmentWeight;
+    }
+
+    public int getQuizDropLowest() {
+        return quizDropLowest;
+    }
+
+    public void setQuizDropLowest(int quizDropLowest) {
+        this.quizDropLowest = quizDropLowest;
+    }
+
+    public int getAssignmentDropLowest() {
+        return assignmentDropLowest;
+    }
+
+    public void setAssignmentDropLowest(int assignmentDropLowest) {
+        this.assignmentDropLowest = assignmentDropLowest;
+    }
+
+    public float getLatePenaltyPerDay() {
+        return latePenaltyPerDay;
+    }
+
+    public void setLatePenaltyPerDay(float latePenaltyPerDay) {
+        this.latePenaltyPerDay = latePenaltyPerDay;
+    }
+
+    public float getMaxLatePenalty() {
+        return maxLatePenalty;
+    }
+
+    public void setMaxLatePenalty(float maxLatePenalty) {
+        this.maxLatePenalty = maxLatePenalty;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
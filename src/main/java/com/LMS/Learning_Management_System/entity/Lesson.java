@@ -1,5 +1,7 @@
 package com.LMS.Learning_Management_System.entity;
 
+import com.LMS.Learning_Management_System.util.CompressedTextConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -24,13 +26,26 @@ public class Lesson {
 
     private String OTP;
 
+    @Convert(converter = CompressedTextConverter.class)
     private String content;
 
+    // content rendered to sanitized HTML whenever it is written
+    @Column(name = "content_html")
+    @Convert(converter = CompressedTextConverter.class)
+    @JsonIgnore
+    private String contentHtml;
+
     @Column(name = "creation_date")
     @Temporal(TemporalType.TIMESTAMP)
     @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private Date creationTime;
 
+    // bumped on every entity update; the body and HTML caches never replace a newer version
+    @Version
+    @Column(name = "version")
+    @JsonIgnore
+    private long version;
+
     public Lesson() {}
 
     public Lesson(int lessonId, Course courseId, String lessonName, String lessonDescription, int lessonOrder, String OTP, String content, Date creationTime) {
@@ -100,6 +115,18 @@ public class Lesson {
         this.content = content;
     }
 
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
     public Date getCreationTime() {
         return creationTime;
     }
@@ -3,7 +3,8 @@ package com.LMS.Learning_Management_System.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "lesson_attendance")
+@Table(name = "lesson_attendance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_lesson_attendance_student", columnNames = {"lesson_id", "student_id"}))
 public class LessonAttendance  {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
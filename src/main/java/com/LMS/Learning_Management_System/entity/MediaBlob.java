@@ -0,0 +1,78 @@
+package com.LMS.Learning_Management_System.entity;
+
+import jakarta.persistence.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+@Entity
+@Table(name = "media_blob")
+public class MediaBlob {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "extension", length = 11)
+    private String extension;
+
+    private long size;
+
+    @Column(name = "ref_count")
+    private int refCount;
+
+    // set when the last reference goes away; the sweeper deletes blobs left unreferenced past a grace period
+    @Column(name = "unreferenced_since")
+    @Temporal(TemporalType.TIMESTAMP)
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date unreferencedSince;
+
+    public MediaBlob() {}
+
+    public MediaBlob(String hash, String extension, long size, int refCount) {
+        this.hash = hash;
+        this.extension = extension;
+        this.size = size;
+        this.refCount = refCount;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public void setExtension(String extension) {
+        this.extension = extension;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public Date getUnreferencedSince() {
+        return unreferencedSince;
+    }
+
+    public void setUnreferencedSince(Date unreferencedSince) {
+        this.unreferencedSince = unreferencedSince;
+    }
+}
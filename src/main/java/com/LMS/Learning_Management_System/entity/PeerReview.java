@@ -0,0 +1,80 @@
+package com.LMS.Learning_Management_System.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "peer_review",
+        uniqueConstraints = @UniqueConstraint(name = "uk_peer_review_submission_reviewer", columnNames = {"submission_id", "reviewer_id"}),
+        indexes = @Index(name = "idx_peer_review_assignment", columnList = "assignment_id"))
+public class PeerReview {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "peer_review_id")
+    private int peerReviewId;
+
+    @ManyToOne
+    @JoinColumn(name = "assignment_id", referencedColumnName = "assignment_id")
+    private Assignment assignmentId;
+
+    @ManyToOne
+    @JoinColumn(name = "submission_id", referencedColumnName = "submission_id")
+    private Submission submissionId;
+
+    @ManyToOne
+    @JoinColumn(name = "reviewer_id", referencedColumnName = "user_account_id")
+    private Student reviewerId;
+
+    private Float score;
+
+    private String comments;
+
+    public PeerReview() {}
+
+    public int getPeerReviewId() {
+        return peerReviewId;
+    }
+
+    public void setPeerReviewId(int peerReviewId) {
+        this.peerReviewId = peerReviewId;
+    }
+
+    public Assignment getAssignmentId() {
+        return assignmentId;
+    }
+
+    public void setAssignmentId(Assignment assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+
+    public Submission getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(Submission submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Student getReviewerId() {
+        return reviewerId;
+    }
+
+    public void setReviewerId(Student reviewerId) {
+        this.reviewerId = reviewerId;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
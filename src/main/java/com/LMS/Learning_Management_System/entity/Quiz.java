@@ -28,6 +28,15 @@ public class Quiz {
     @Column(name = "randomized")
     private Boolean randomized;
 
+    @Column(name = "adaptive")
+    private Boolean adaptive;
+
+    @Column(name = "question_type_id")
+    private Integer questionTypeId;
+
+    @Column(name = "shuffle_per_student")
+    private Boolean shuffled;
+
     @Column(name = "creation_date")
     @Temporal(TemporalType.TIMESTAMP)
     @DateTimeFormat(pattern = "yyyy-MM-dd")
@@ -91,6 +100,38 @@ public class Quiz {
         this.randomized = randomized;
     }
 
+    public Boolean getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public boolean isAdaptive() {
+        return Boolean.TRUE.equals(adaptive);
+    }
+
+    public Integer getQuestionTypeId() {
+        return questionTypeId;
+    }
+
+    public void setQuestionTypeId(Integer questionTypeId) {
+        this.questionTypeId = questionTypeId;
+    }
+
+    public Boolean getShuffled() {
+        return shuffled;
+    }
+
+    public void setShuffled(Boolean shuffled) {
+        this.shuffled = shuffled;
+    }
+
+    public boolean isShuffled() {
+        return Boolean.TRUE.equals(shuffled);
+    }
+
     public Date getCreationDate() {
         return creationDate;
     }
@@ -107,6 +148,9 @@ public class Quiz {
                 ", course=" + course +
                 ", questionCount=" + questionCount +
                 ", randomized=" + randomized +
+                ", adaptive=" + adaptive +
+                ", questionTypeId=" + questionTypeId +
+                ", shuffled=" + shuffled +
                 ", creationDate=" + creationDate +
                 '}';
     }
@@ -0,0 +1,75 @@
+package com.LMS.Learning_Management_System.entity;
+
+import jakarta.persistence.*;
+
+// MinHash signature of a submission's text, 128 ints packed big-endian
+@Entity
+@Table(name = "submission_signature", indexes = @Index(name = "idx_submission_signature_assignment", columnList = "assignment_id"))
+public class SubmissionSignature {
+
+    @Id
+    @Column(name = "submission_id")
+    private int submissionId;
+
+    @Column(name = "assignment_id")
+    private int assignmentId;
+
+    @Column(name = "student_id")
+    private int studentId;
+
+    @Column(name = "shingle_count")
+    private int shingleCount;
+
+    @Column(name = "signature", length = 512)
+    private byte[] signature;
+
+    public SubmissionSignature() {}
+
+    public SubmissionSignature(int submissionId, int assignmentId, int studentId, int shingleCount, byte[] signature) {
+        this.submissionId = submissionId;
+        this.assignmentId = assignmentId;
+        this.studentId = studentId;
+        this.shingleCount = shingleCount;
+        this.signature = signature;
+    }
+
+    public int getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(int submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public int getAssignmentId() {
+        return assignmentId;
+    }
+
+    public void setAssignmentId(int assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public int getShingleCount() {
+        return shingleCount;
+    }
+
+    public void setShingleCount(int shingleCount) {
+        this.shingleCount = shingleCount;
+    }
+
+    public byte[] getSignature() {
+        return signature;
+    }
+
+    public void setSignature(byte[] signature) {
+        this.signature = signature;
+    }
+}
@@ -2,8 +2,17 @@ package com.LMS.Learning_Management_System.repository;
 
 import com.LMS.Learning_Management_System.entity.Assignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Integer> {
+    // [assignmentId, courseId, courseName, title, dueDate]
+    @Query("SELECT a.assignmentId, a.courseID.courseId, a.courseID.courseName, a.title, a.dueDate FROM Assignment a " +
+            "WHERE a.dueDate > :now")
+    List<Object[]> findUpcomingDeadlines(@Param("now") Date now);
 }
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
+
 
 //@Repository
 public interface CourseRepository extends JpaRepository<Course, Integer> {
@@ -14,4 +16,6 @@ public interface CourseRepository extends JpaRepository<Course, Integer> {
             "WHERE course.instructorId.userAccountId = :instructorId " +
             "AND course.courseId = :courseId")
     boolean findByInstructorId(int instructorId , int courseId);
+    @Query("SELECT course.media FROM Course course WHERE course.courseId = :courseId")
+    Optional<String> findMediaByCourseId(@Param("courseId") int courseId);
 }
@@ -0,0 +1,16 @@
+package com.LMS.Learning_Management_System.repository;
+
+import com.LMS.Learning_Management_System.dto.FinalGradeDto;
+import com.LMS.Learning_Management_System.entity.FinalGrade;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface FinalGradeRepository extends JpaRepository<FinalGrade, Integer> {
+    @Query(value = "SELECT new com.LMS.Learning_Management_System.dto.FinalGradeDto(f.student.userAccountId, " +
+            "f.student.firstName, f.student.lastName, f.finalScore, f.computedAt) FROM FinalGrade f WHERE f.courseId = :courseId",
+            countQuery = "SELECT COUNT(f) FROM FinalGrade f WHERE f.courseId = :courseId")
+    Page<FinalGradeDto> findFinalGradePage(@Param("courseId") int courseId, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package com.LMS.Learning_Management_System.repository;
+
+import com.LMS.Learning_Management_System.entity.GradebookEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface GradebookEntryRepository extends JpaRepository<GradebookEntry, Integer> {
+    @Query("SELECT e FROM GradebookEntry e WHERE e.courseId = :courseId AND e.studentId IN :studentIds " +
+            "ORDER BY e.itemType, e.itemId")
+    List<GradebookEntry> findByCourseIdAndStudentIds(@Param("courseId") int courseId,
+                                                     @Param("studentIds") Collection<Integer> studentIds);
+
+    // item type, item id and max score of every item graded at least once in the course
+    @Query("SELECT e.itemType, e.itemId, MAX(e.maxScore) FROM GradebookEntry e WHERE e.courseId = :courseId " +
+            "GROUP BY e.itemType, e.itemId ORDER BY e.itemType, e.itemId")
+    List<Object[]> findItemsByCourseId(@Param("courseId") int courseId);
+
+    // student id, first name, last name, item type, item id, score; grouped by student for the CSV export
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT e.studentId, s.firstName, s.lastName, e.itemType, e.itemId, e.score " +
+            "FROM GradebookEntry e, Student s WHERE s.userAccountId = e.studentId AND e.courseId = :courseId " +
+            "ORDER BY e.studentId")
+    Stream<Object[]> streamByCourseId(@Param("courseId") int courseId);
+}
@@ -0,0 +1,17 @@
+package com.LMS.Learning_Management_System.repository;
+
+import com.LMS.Learning_Management_System.dto.GradebookRowDto;
+import com.LMS.Learning_Management_System.entity.GradebookTotal;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface GradebookTotalRepository extends JpaRepository<GradebookTotal, Integer> {
+    @Query(value = "SELECT new com.LMS.Learning_Management_System.dto.GradebookRowDto(t.student.userAccountId, " +
+            "t.student.firstName, t.student.lastName, t.totalScore, t.totalMax, t.gradedItems) " +
+            "FROM GradebookTotal t WHERE t.courseId = :courseId",
+            countQuery = "SELECT COUNT(t) FROM GradebookTotal t WHERE t.courseId = :courseId")
+    Page<GradebookRowDto> findGradebookPage(@Param("courseId") int courseId, Pageable pageable);
+}
@@ -0,0 +1,7 @@
+package com.LMS.Learning_Management_System.repository;
+
+import com.LMS.Learning_Management_System.entity.GradingPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GradingPolicyRepository extends JpaRepository<GradingPolicy, Integer> {
+}
@@ -1,10 +1,13 @@
 package com.LMS.Learning_Management_System.repository;
 
+import com.LMS.Learning_Management_System.dto.QuizGradeReportDto;
 import com.LMS.Learning_Management_System.entity.Enrollment;
 import com.LMS.Learning_Management_System.entity.Grading;
 import com.LMS.Learning_Management_System.entity.Question;
 import com.LMS.Learning_Management_System.entity.Quiz;
 import org.antlr.v4.runtime.misc.Pair;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,4 +32,8 @@ public interface GradingRepository extends JpaRepository<Grading, Integer> {
     @Query("SELECT g.grade FROM Grading g WHERE g.quizId.quizId = :quizId")
     List<Integer> findGradeByQuizId(@Param("quizId") int quizId);
     List <Grading> findAllByQuizId (Quiz quizId);
+    @Query(value = "SELECT new com.LMS.Learning_Management_System.dto.QuizGradeReportDto(g.student_id.userAccountId, " +
+            "g.student_id.firstName, g.student_id.lastName, g.grade) FROM Grading g WHERE g.quizId.quizId = :quizId",
+            countQuery = "SELECT COUNT(g) FROM Grading g WHERE g.quizId.quizId = :quizId")
+    Page<QuizGradeReportDto> findQuizGradeReport(@Param("quizId") int quizId, Pageable pageable);
 }
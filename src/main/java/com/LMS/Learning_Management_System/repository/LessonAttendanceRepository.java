@@ -1,7 +1,12 @@
 package com.LMS.Learning_Management_System.repository;
 
+import com.LMS.Learning_Management_System.dto.AttendanceReportDto;
 import com.LMS.Learning_Management_System.entity.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +15,8 @@ import java.util.List;
 public interface LessonAttendanceRepository extends JpaRepository<LessonAttendance, Integer> {
     boolean existsByLessonIdAndStudentId(Lesson lessonId , Student studentId);
     List <LessonAttendance> findAllByLessonId (Lesson LessonId);
+    @Query(value = "SELECT new com.LMS.Learning_Management_System.dto.AttendanceReportDto(a.studentId.userAccountId, " +
+            "a.studentId.firstName, a.studentId.lastName) FROM LessonAttendance a WHERE a.lessonId.lessonId = :lessonId",
+            countQuery = "SELECT COUNT(a) FROM LessonAttendance a WHERE a.lessonId.lessonId = :lessonId")
+    Page<AttendanceReportDto> findAttendanceReport(@Param("lessonId") int lessonId, Pageable pageable);
 }
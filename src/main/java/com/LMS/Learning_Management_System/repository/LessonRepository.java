@@ -1,13 +1,50 @@
 package com.LMS.Learning_Management_System.repository;
 
 
+import com.LMS.Learning_Management_System.dto.LessonSummaryDto;
 import com.LMS.Learning_Management_System.entity.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Integer> {
     List<Lesson> findByCourseId(Course course);
+
+    // outline rows only; the content column is never read
+    @Query("SELECT new com.LMS.Learning_Management_System.dto.LessonSummaryDto(l.lessonId, l.lessonName, " +
+            "l.lessonDescription, l.lessonOrder, l.creationTime) FROM Lesson l WHERE l.courseId.courseId = :courseId " +
+            "ORDER BY l.lessonOrder, l.lessonId")
+    List<LessonSummaryDto> findSummariesByCourseId(@Param("courseId") int courseId);
+
+    // [courseId, content, version]
+    @Query("SELECT l.courseId.courseId, l.content, l.version FROM Lesson l WHERE l.lessonId = :lessonId")
+    List<Object[]> findContentByLessonId(@Param("lessonId") int lessonId);
+
+    // [courseId, contentHtml, content, version]
+    @Query("SELECT l.courseId.courseId, l.contentHtml, l.content, l.version FROM Lesson l WHERE l.lessonId = :lessonId")
+    List<Object[]> findRenderedContentByLessonId(@Param("lessonId") int lessonId);
+
+    // [lessonId, lessonOrder] in outline order
+    @Query("SELECT l.lessonId, l.lessonOrder FROM Lesson l WHERE l.courseId.courseId = :courseId ORDER BY l.lessonOrder, l.lessonId")
+    List<Object[]> findOrderByCourseId(@Param("courseId") int courseId);
+
+    @Query("SELECT MAX(l.lessonOrder) FROM Lesson l WHERE l.courseId.courseId = :courseId")
+    Integer findMaxLessonOrder(@Param("courseId") int courseId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Lesson l SET l.lessonOrder = :lessonOrder WHERE l.lessonId = :lessonId")
+    int updateLessonOrder(@Param("lessonId") int lessonId, @Param("lessonOrder") int lessonOrder);
+
+    @Modifying
+    @Transactional
+    // only fills in the HTML of the version it was rendered from
+    @Query("UPDATE Lesson l SET l.contentHtml = :contentHtml WHERE l.lessonId = :lessonId AND l.version = :version")
+    int updateContentHtml(@Param("lessonId") int lessonId, @Param("version") long version, @Param("contentHtml") String contentHtml);
 }
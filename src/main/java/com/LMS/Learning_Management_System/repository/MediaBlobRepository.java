@@ -0,0 +1,34 @@
+package com.LMS.Learning_Management_System.repository;
+
+import com.LMS.Learning_Management_System.entity.MediaBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.unreferencedSince = null, b.refCount = b.refCount + 1 WHERE b.hash = :hash")
+    int incrementRefCount(@Param("hash") String hash);
+
+    // unreferencedSince is assigned first so the CASE sees the old count on MySQL too
+    @Transactional
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.unreferencedSince = CASE WHEN b.refCount <= 1 THEN :now ELSE b.unreferencedSince END, " +
+            "b.refCount = b.refCount - 1 WHERE b.hash = :hash AND b.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash, @Param("now") Date now);
+
+    @Query("SELECT b FROM MediaBlob b WHERE b.refCount = 0 AND b.unreferencedSince < :cutoff ORDER BY b.unreferencedSince")
+    List<MediaBlob> findUnreferencedBefore(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MediaBlob b WHERE b.hash = :hash AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
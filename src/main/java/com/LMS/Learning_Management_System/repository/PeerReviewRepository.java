@@ -0,0 +1,11 @@
+package com.LMS.Learning_Management_System.repository;
+
+import com.LMS.Learning_Management_System.entity.PeerReview;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PeerReviewRepository extends JpaRepository<PeerReview, Integer> {
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM PeerReview p WHERE p.assignmentId.assignmentId = :assignmentId")
+    boolean existsByAssignmentId(@Param("assignmentId") int assignmentId);
+}
@@ -2,6 +2,8 @@ package com.LMS.Learning_Management_System.repository;
 
 import com.LMS.Learning_Management_System.dto.QuestionDto;
 import com.LMS.Learning_Management_System.entity.Question;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,10 +15,32 @@ import java.util.List;
 public interface QuestionRepository extends JpaRepository<Question, Integer> {
     @Query("SELECT q FROM Question q WHERE q.courseId.courseId = :courseId")
     List<Question> findQuestionsByCourseId(@Param("courseId") int courseId);
-    @Query("SELECT q FROM Question q WHERE q.quiz.quizId = :quizId")
+    @Query("SELECT q FROM Question q WHERE q.quiz.quizId = :quizId ORDER BY q.questionId")
     List<Question> findQuestionsByQuizId(@Param("quizId") int quizId);
     @Query("SELECT q FROM Question q WHERE q.courseId.courseId = :courseId AND q.questionType.typeId = :questionType")
     List<Question> findQuestionsByCourseIdAndQuestionType(@Param("courseId") int courseId, @Param("questionType") int questionType);
     @Query("SELECT q FROM Question q WHERE q.courseId.courseId = :courseId AND q.questionType.typeId = :questionType AND q.quiz.quizId IS NULL ")
     List<Question> findEmptyQuestionsByCourseIdAndQuestionType(@Param("courseId") int courseId, @Param("questionType") int questionType);
+    // quiz-level approximation: grading only stores a total, so every question of a quiz gets that quiz's average
+    @Query("SELECT q.questionId, AVG(g.grade * 1.0 / q.quiz.questionCount) FROM Question q, Grading g " +
+            "WHERE g.quizId = q.quiz AND q.courseId.courseId = :courseId AND q.questionType.typeId = :questionType " +
+            "GROUP BY q.questionId")
+    List<Object[]> findSuccessRatesByCourseIdAndQuestionType(@Param("courseId") int courseId, @Param("questionType") int questionType);
+    @Query(value = "SELECT new com.LMS.Learning_Management_System.dto.QuestionDto(q.questionId, q.questionText, q.questionType.typeId, q.options, q.courseId.courseId, q.correctAnswer) " +
+            "FROM Question q " + QUESTION_BANK_FILTER,
+            countQuery = "SELECT COUNT(q) FROM Question q " + QUESTION_BANK_FILTER)
+    Page<QuestionDto> findQuestionBankPage(@Param("courseId") int courseId, @Param("type") Integer type,
+                                           @Param("assigned") Boolean assigned, @Param("text") String text, Pageable pageable);
+    @Query("SELECT new com.LMS.Learning_Management_System.dto.QuestionDto(q.questionId, q.questionText, q.questionType.typeId, q.options, q.courseId.courseId, q.correctAnswer) " +
+            "FROM Question q WHERE q.questionId IN :ids ORDER BY q.questionId")
+    List<QuestionDto> findQuestionDtosByIds(@Param("ids") List<Integer> ids);
+    @Query("SELECT q.questionId, q.questionText, q.questionType.typeId, q.options, q.correctAnswer FROM Question q WHERE q.courseId.courseId = :courseId")
+    List<Object[]> findIndexedFieldsByCourseId(@Param("courseId") int courseId);
+    @Query("SELECT q.questionType.typeId, COUNT(q) FROM Question q WHERE q.courseId.courseId = :courseId GROUP BY q.questionType.typeId")
+    List<Object[]> countQuestionsByType(@Param("courseId") int courseId);
+
+    String QUESTION_BANK_FILTER = "WHERE q.courseId.courseId = :courseId " +
+            "AND (:type IS NULL OR q.questionType.typeId = :type) " +
+            "AND (:assigned IS NULL OR (:assigned = TRUE AND q.quiz IS NOT NULL) OR (:assigned = FALSE AND q.quiz IS NULL)) " +
+            "AND (:text IS NULL OR LOWER(q.questionText) LIKE :text ESCAPE '\\')";
 }
@@ -14,4 +14,9 @@ public interface QuizRepository extends JpaRepository<Quiz, Integer> {
     @Query("SELECT q FROM Quiz q WHERE q.course.courseId = :courseId ")
     List<Quiz> getQuizzesByCourseId(@Param("courseId") int courseId );
 
+    // [quizId, courseId, courseName, title, creationDate]
+    @Query("SELECT q.quizId, q.course.courseId, q.course.courseName, q.title, q.creationDate FROM Quiz q " +
+            "WHERE q.creationDate > :since")
+    List<Object[]> findCreatedSince(@Param("since") Date since);
+
 }
@@ -1,7 +1,17 @@
 package com.LMS.Learning_Management_System.repository;
 
 import com.LMS.Learning_Management_System.entity.Student;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Integer> {
+    // row lock held until the surrounding transaction ends; serializes one student's submissions
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.userAccountId FROM Student s WHERE s.userAccountId = :id")
+    Optional<Integer> lockById(@Param("id") int id);
 }
@@ -1,15 +1,43 @@
 package com.LMS.Learning_Management_System.repository;
 
+import com.LMS.Learning_Management_System.dto.SubmissionReportDto;
 import com.LMS.Learning_Management_System.entity.Assignment;
 import com.LMS.Learning_Management_System.entity.Student;
 import com.LMS.Learning_Management_System.entity.Submission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Integer> {
     List<Submission> findByStudentId(Student student);
     List <Submission> findAllByAssignmentId (Assignment assignmentId);
+    boolean existsByAssignmentIdAndStudentId(Assignment assignmentId, Student studentId);
+
+    @Query(value = "SELECT new com.LMS.Learning_Management_System.dto.SubmissionReportDto(s.studentId.userAccountId, " +
+            "s.studentId.firstName, s.studentId.lastName, s.grade, s.submittedAt, " +
+            "CASE WHEN s.filePath IS NOT NULL THEN true ELSE false END) " +
+            "FROM Submission s WHERE s.assignmentId.assignmentId = :assignmentId",
+            countQuery = "SELECT COUNT(s) FROM Submission s WHERE s.assignmentId.assignmentId = :assignmentId")
+    Page<SubmissionReportDto> findSubmissionReport(@Param("assignmentId") int assignmentId, Pageable pageable);
+
+    // submission id and author id, in submission order
+    @Query("SELECT s.submissionId, s.studentId.userAccountId FROM Submission s " +
+            "WHERE s.assignmentId.assignmentId = :assignmentId ORDER BY s.submissionId")
+    List<Object[]> findSubmissionAuthorsByAssignmentId(@Param("assignmentId") int assignmentId);
+
+    // student id, submitted at, grade, feedback, file path; MIN_VALUE makes MySQL stream rows instead of buffering them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT s.studentId.userAccountId, s.submittedAt, s.grade, s.feedback, s.filePath FROM Submission s " +
+            "WHERE s.assignmentId.assignmentId = :assignmentId ORDER BY s.studentId.userAccountId")
+    Stream<Object[]> streamExportRowsByAssignmentId(@Param("assignmentId") int assignmentId);
 }
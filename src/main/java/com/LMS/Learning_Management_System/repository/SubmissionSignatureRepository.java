@@ -0,0 +1,18 @@
+package com.LMS.Learning_Management_System.repository;
+
+import com.LMS.Learning_Management_System.entity.SubmissionSignature;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SubmissionSignatureRepository extends JpaRepository<SubmissionSignature, Integer> {
+    List<SubmissionSignature> findByAssignmentId(int assignmentId);
+
+    // submission id, student id and file path of uploaded files that have no signature yet
+    @Query("SELECT s.submissionId, s.studentId.userAccountId, s.filePath FROM Submission s " +
+            "WHERE s.assignmentId.assignmentId = :assignmentId AND s.filePath IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM SubmissionSignature sig WHERE sig.submissionId = s.submissionId)")
+    List<Object[]> findUnsignedSubmissions(@Param("assignmentId") int assignmentId);
+}
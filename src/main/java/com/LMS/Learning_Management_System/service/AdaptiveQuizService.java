@@ -0,0 +1,378 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.dto.QuestionDto;
+import com.LMS.Learning_Management_System.entity.Question;
+import com.LMS.Learning_Management_System.repository.QuestionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Next-question selection for adaptive quizzes.
+ * <p>
+ * Every (course, question type) pair gets an in-memory pool with the questions sorted by
+ * difficulty in primitive arrays. A question's difficulty is the logit of its failure rate over
+ * the adaptive answers it has received, kept per question in {@code question_outcome}. Until a
+ * question has enough answers of its own, the rate is pulled towards a prior: the average score
+ * of the fixed quizzes it appeared in. That prior is a quiz-level approximation (every question
+ * of a quiz gets the same value), because fixed quizzes only store a total grade. A running
+ * ability estimate (Rasch / Elo style) is kept per session.
+ * <p>
+ * Answering never waits on the database: outcomes are counted in memory and written behind in
+ * batches, like check-ins in {@link AttendanceIngestionService}. A pool is an immutable snapshot
+ * over those counts; the next session to start after an answer gets a freshly sorted copy.
+ * Sessions keep the snapshot they started with, since their used-question bits index into it.
+ */
+@Service
+public class AdaptiveQuizService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveQuizService.class);
+    private static final float ABILITY_STEP = 0.6f;
+    // weight of the quiz-level prior, in answers
+    private static final float PRIOR_ANSWERS = 10f;
+    private static final float UNKNOWN_SUCCESS_RATE = 0.5f;
+    private static final float MIN_SUCCESS_RATE = 0.05f;
+    private static final float MAX_SUCCESS_RATE = 0.95f;
+    private static final int QUESTION_TYPES = 3;
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private final QuestionRepository questionRepository;
+    private final ShortAnswerMatcher shortAnswerMatcher;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, QuestionPool> pools = new ConcurrentHashMap<>();
+    // questionId shifted left by one, low bit set for a correct answer
+    private final ConcurrentLinkedQueue<Long> pendingOutcomes = new ConcurrentLinkedQueue<>();
+
+    public AdaptiveQuizService(QuestionRepository questionRepository, ShortAnswerMatcher shortAnswerMatcher,
+                               JdbcTemplate jdbcTemplate) {
+        this.questionRepository = questionRepository;
+        this.shortAnswerMatcher = shortAnswerMatcher;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int poolSize(int courseId, int typeId) {
+        return pool(courseId, typeId).size();
+    }
+
+    // called whenever the question bank of a course changes; queued outcomes are written first so the reload sees them
+    public void invalidate(int courseId) {
+        flush();
+        for (int type = 1; type <= QUESTION_TYPES; type++) {
+            pools.remove(key(courseId, type));
+        }
+    }
+
+    public AdaptiveSession start(int quizId, int courseId, int typeId, int questionCount, long deadline) {
+        QuestionPool pool = pool(courseId, typeId);
+        if (pool.size() == 0) {
+            throw new IllegalArgumentException("No questions available for this adaptive quiz.");
+        }
+        AdaptiveSession session = new AdaptiveSession(quizId, pool, Math.min(questionCount, pool.size()), deadline);
+        session.current = pool.closest(session.ability, session.used);
+        return session;
+    }
+
+    public QuestionDto currentQuestion(AdaptiveSession session) {
+        synchronized (session) {
+            return session.current < 0 ? null : session.pool.toDto(session.current);
+        }
+    }
+
+    // grades the answer to the current question and moves the session to the next one
+    public void answer(AdaptiveSession session, int questionId, String answer) {
+        synchronized (session) {
+            if (session.isFinished()) {
+                throw new IllegalArgumentException("This adaptive quiz has already been completed.");
+            }
+            if (System.currentTimeMillis() > session.deadline) {
+                throw new IllegalArgumentException("The quiz has been finished!");
+            }
+            QuestionPool pool = session.pool;
+            int index = session.current;
+            int ordinal = pool.ordinals[index];
+            Question question = pool.stats.questions[ordinal];
+            if (question.getQuestionId() != questionId) {
+                throw new IllegalArgumentException("Question " + questionId + " is not the current question of this quiz.");
+            }
+            boolean correct = isCorrect(question, answer);
+            float difficulty = pool.stats.difficulty(ordinal);
+            float expected = (float) (1.0 / (1.0 + Math.exp(difficulty - session.ability)));
+            float outcome = correct ? 1f : 0f;
+            // later answers move the estimate less, so it settles as the quiz goes on
+            session.ability += ABILITY_STEP * (outcome - expected) / (1 + session.answered * 0.25f);
+            pool.stats.record(ordinal, correct);
+            pendingOutcomes.add(((long) questionId << 1) | (correct ? 1L : 0L));
+
+            session.used.set(index);
+            session.answered++;
+            if (correct) {
+                session.correct++;
+            }
+            session.current = session.isFinished() ? -1 : pool.closest(session.ability, session.used);
+        }
+    }
+
+    private boolean isCorrect(Question question, String answer) {
+        if (ShortAnswerMatcher.isShortAnswer(question)) {
+            return shortAnswerMatcher.matches(question, answer);
+        }
+        return Objects.equals(question.getCorrectAnswer(), answer);
+    }
+
+    // writes the queued outcomes as per-question increments; a failed batch is queued again
+    @Scheduled(fixedDelayString = "${lms.adaptive.flush-interval-ms:1000}")
+    public void flush() {
+        List<Long> polled = new ArrayList<>();
+        Long next;
+        while ((next = pendingOutcomes.poll()) != null) {
+            polled.add(next);
+        }
+        if (polled.isEmpty()) {
+            return;
+        }
+        long[] outcomes = new long[polled.size()];
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = polled.get(i);
+        }
+        // sorting groups each question's outcomes into one run
+        Arrays.sort(outcomes);
+        List<int[]> rows = new ArrayList<>();
+        for (int i = 0; i < outcomes.length; ) {
+            int questionId = (int) (outcomes[i] >>> 1);
+            int attempts = 0;
+            int correct = 0;
+            for (; i < outcomes.length && (int) (outcomes[i] >>> 1) == questionId; i++) {
+                attempts++;
+                correct += (int) (outcomes[i] & 1L);
+            }
+            rows.add(new int[]{questionId, attempts, correct});
+        }
+        for (int from = 0; from < rows.size(); from += UPSERT_BATCH_SIZE) {
+            List<int[]> batch = rows.subList(from, Math.min(rows.size(), from + UPSERT_BATCH_SIZE));
+            try {
+                upsertOutcomes(batch);
+            } catch (RuntimeException e) {
+                // each batch is one statement, so a failed one wrote nothing and is safe to retry
+                List<int[]> unwritten = rows.subList(from, rows.size());
+                logger.warn("Writing outcomes of {} questions failed, retrying on the next run", unwritten.size(), e);
+                for (int[] row : unwritten) {
+                    for (int i = 0; i < row[1]; i++) {
+                        pendingOutcomes.add(((long) row[0] << 1) | (i < row[2] ? 1L : 0L));
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void upsertOutcomes(List<int[]> batch) {
+        StringBuilder sql = new StringBuilder("INSERT INTO question_outcome (question_id, attempts, correct) VALUES ");
+        Object[] args = new Object[batch.size() * 3];
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+            args[i * 3] = batch.get(i)[0];
+            args[i * 3 + 1] = batch.get(i)[1];
+            args[i * 3 + 2] = batch.get(i)[2];
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE attempts = attempts + VALUES(attempts), correct = correct + VALUES(correct)");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private QuestionPool pool(int courseId, int typeId) {
+        long key = key(courseId, typeId);
+        QuestionPool pool = pools.computeIfAbsent(key, k -> load(courseId, typeId));
+        if (pool.builtAt != pool.stats.changes.get()) {
+            // re-sort under the map's bin lock, so concurrent starts rebuild it once
+            pool = pools.compute(key, (k, current) -> current == null ? load(courseId, typeId)
+                    : current.builtAt != current.stats.changes.get() ? sorted(current.stats) : current);
+        }
+        return pool;
+    }
+
+    private QuestionPool load(int courseId, int typeId) {
+        Question[] questions = questionRepository.findQuestionsByCourseIdAndQuestionType(courseId, typeId)
+                .toArray(new Question[0]);
+        Map<Integer, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < questions.length; i++) {
+            ordinals.put(questions[i].getQuestionId(), i);
+        }
+        QuestionStats stats = new QuestionStats(questions);
+        Arrays.fill(stats.priorRate, UNKNOWN_SUCCESS_RATE);
+        for (Object[] row : questionRepository.findSuccessRatesByCourseIdAndQuestionType(courseId, typeId)) {
+            Integer ordinal = ordinals.get(((Number) row[0]).intValue());
+            if (ordinal != null && row[1] != null) {
+                stats.priorRate[ordinal] = ((Number) row[1]).floatValue();
+            }
+        }
+        jdbcTemplate.query("SELECT o.question_id, o.attempts, o.correct FROM question_outcome o " +
+                "JOIN question q ON q.question_id = o.question_id WHERE q.course_id = ? AND q.type_id = ?", resultSet -> {
+            Integer ordinal = ordinals.get(resultSet.getInt(1));
+            if (ordinal != null) {
+                stats.attempts.set(ordinal, resultSet.getInt(2));
+                stats.correct.set(ordinal, resultSet.getInt(3));
+            }
+        }, courseId, typeId);
+        return sorted(stats);
+    }
+
+    // a new snapshot ordered by the current difficulties; earlier snapshots are left untouched
+    private QuestionPool sorted(QuestionStats stats) {
+        long builtAt = stats.changes.get();
+        int n = stats.questions.length;
+        // difficulty as order-preserving int bits in the high half, ordinal in the low half
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int bits = Float.floatToIntBits(stats.difficulty(i));
+            bits ^= (bits >> 31) & 0x7fffffff;
+            keys[i] = ((long) bits << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] ordinals = new int[n];
+        float[] difficulty = new float[n];
+        for (int i = 0; i < n; i++) {
+            ordinals[i] = (int) keys[i];
+            difficulty[i] = stats.difficulty(ordinals[i]);
+        }
+        return new QuestionPool(stats, ordinals, difficulty, builtAt);
+    }
+
+    // logit of the failure rate: 0 for a question half the students get right
+    private static float toDifficulty(float successRate) {
+        double p = Math.max(MIN_SUCCESS_RATE, Math.min(MAX_SUCCESS_RATE, successRate));
+        return (float) Math.log((1 - p) / p);
+    }
+
+    private static long key(int courseId, int typeId) {
+        return ((long) courseId << 32) | (typeId & 0xffffffffL);
+    }
+
+    // per-question answer counts of one loaded pool, indexed by load order and shared by all its snapshots
+    static final class QuestionStats {
+        private final Question[] questions;
+        private final float[] priorRate;
+        private final AtomicIntegerArray attempts;
+        private final AtomicIntegerArray correct;
+        private final AtomicLong changes = new AtomicLong();
+
+        QuestionStats(Question[] questions) {
+            this.questions = questions;
+            this.priorRate = new float[questions.length];
+            this.attempts = new AtomicIntegerArray(questions.length);
+            this.correct = new AtomicIntegerArray(questions.length);
+        }
+
+        float difficulty(int ordinal) {
+            float rate = (correct.get(ordinal) + PRIOR_ANSWERS * priorRate[ordinal]) / (attempts.get(ordinal) + PRIOR_ANSWERS);
+            return toDifficulty(rate);
+        }
+
+        void record(int ordinal, boolean correctAnswer) {
+            if (correctAnswer) {
+                correct.incrementAndGet(ordinal);
+            }
+            attempts.incrementAndGet(ordinal);
+            changes.incrementAndGet();
+        }
+    }
+
+    static final class QuestionPool {
+        private final QuestionStats stats;
+        // load-order ordinal of each position, sorted by difficulty
+        private final int[] ordinals;
+        private final float[] difficulty;
+        private final long builtAt;
+
+        QuestionPool(QuestionStats stats, int[] ordinals, float[] difficulty, long builtAt) {
+            this.stats = stats;
+            this.ordinals = ordinals;
+            this.difficulty = difficulty;
+            this.builtAt = builtAt;
+        }
+
+        int size() {
+            return ordinals.length;
+        }
+
+        // nearest unused question by difficulty: binary search, then walk outwards
+        int closest(float ability, BitSet used) {
+            int lo = 0;
+            int hi = difficulty.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (difficulty[mid] < ability) lo = mid + 1;
+                else hi = mid;
+            }
+            int right = used.nextClearBit(lo);
+            int left = used.previousClearBit(lo - 1);
+            if (right >= difficulty.length) return left;
+            if (left < 0) return right;
+            return ability - difficulty[left] <= difficulty[right] - ability ? left : right;
+        }
+
+        QuestionDto toDto(int index) {
+            Question q = stats.questions[ordinals[index]];
+            QuestionDto questionDto = new QuestionDto();
+            questionDto.setQuestion_id(q.getQuestionId());
+            questionDto.setQuestion_text(q.getQuestionText());
+            questionDto.setOptions(q.getOptions());
+            questionDto.setType(q.getQuestionType().getTypeId());
+            questionDto.setCourse_id(q.getCourseId().getCourseId());
+            return questionDto;
+        }
+    }
+
+    public static final class AdaptiveSession {
+        private final int quizId;
+        private final QuestionPool pool;
+        private final int questionCount;
+        private final long deadline;
+        private final BitSet used = new BitSet();
+        private float ability;
+        private int answered;
+        private int correct;
+        private int current;
+
+        AdaptiveSession(int quizId, QuestionPool pool, int questionCount, long deadline) {
+            this.quizId = quizId;
+            this.pool = pool;
+            this.questionCount = questionCount;
+            this.deadline = deadline;
+        }
+
+        public int getQuizId() {
+            return quizId;
+        }
+
+        public int getQuestionCount() {
+            return questionCount;
+        }
+
+        public int getCorrect() {
+            return correct;
+        }
+
+        public boolean isFinished() {
+            return answered >= questionCount;
+        }
+    }
+}
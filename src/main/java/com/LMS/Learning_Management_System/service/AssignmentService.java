@@ -1,32 +1,76 @@
 package com.LMS.Learning_Management_System.service;
 
 import com.LMS.Learning_Management_System.dto.AssignmentDto;
+import com.LMS.Learning_Management_System.dto.PageDto;
+import com.LMS.Learning_Management_System.dto.SubmissionReportDto;
 import com.LMS.Learning_Management_System.entity.*;
 import com.LMS.Learning_Management_System.repository.*;
+import com.LMS.Learning_Management_System.util.ContentAddressedStore;
+import com.LMS.Learning_Management_System.util.Csv;
+import com.LMS.Learning_Management_System.util.ReportSort;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class AssignmentService {
 
+    private static final Map<String, String> SUBMISSION_REPORT_SORTS = Map.of(
+            "student_id", "studentId.userAccountId",
+            "first_name", "studentId.firstName",
+            "last_name", "studentId.lastName",
+            "grade", "grade",
+            "submitted_at", "submittedAt");
+
     private final AssignmentRepository assignmentRepository;
     private final SubmissionRepository submissionRepository;
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final ContentAddressedStore submissionStore;
+    private final SubmissionSimilarityService submissionSimilarityService;
+    private final GradebookService gradebookService;
+    private final ReminderScheduler reminderScheduler;
 
     public AssignmentService(AssignmentRepository assignmentRepository, SubmissionRepository submissionRepository,
                              CourseRepository courseRepository, StudentRepository studentRepository,
-                             EnrollmentRepository enrollmentRepository) {
+                             EnrollmentRepository enrollmentRepository, SubmissionSimilarityService submissionSimilarityService,
+                             GradebookService gradebookService, ReminderScheduler reminderScheduler,
+                             @Value("${lms.submissions.dir:submissions}") String submissionsDir,
+                             @Value("${lms.submissions.max-bytes:52428800}") long maxSubmissionBytes) {
         this.assignmentRepository = assignmentRepository;
         this.submissionRepository = submissionRepository;
         this.courseRepository = courseRepository;
         this.studentRepository = studentRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.submissionStore = new ContentAddressedStore(Paths.get(submissionsDir), maxSubmissionBytes);
+        this.submissionSimilarityService = submissionSimilarityService;
+        this.gradebookService = gradebookService;
+        this.reminderScheduler = reminderScheduler;
     }
 
     public void uploadAssignment(AssignmentDto assignment, HttpServletRequest request) {
@@ -68,6 +112,46 @@ public class AssignmentService {
     }
 
 
+    public void uploadAssignmentFile(int assignmentId, MultipartFile file, HttpServletRequest request) {
+        Users loggedInStudent = (Users) request.getSession().getAttribute("user");
+        if (loggedInStudent == null) {
+            throw new IllegalArgumentException("You are not logged in");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(()-> new IllegalArgumentException("Assignment not found"));
+
+        Student student = studentRepository.findById(loggedInStudent.getUserId())
+                .orElseThrow(()-> new IllegalArgumentException("You're not a student"));
+
+        if (!enrollmentRepository.existsByStudentAndCourse(student, assignment.getCourseID())) {
+            throw new IllegalArgumentException("You're not enrolled in this course");
+        }
+        if (submissionRepository.existsByAssignmentIdAndStudentId(assignment, student)) {
+            throw new IllegalArgumentException("You've already submitted this assignment");
+        }
+
+        ContentAddressedStore.StoredFile stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = submissionStore.store(in, ContentAddressedStore.extensionOf(file.getOriginalFilename()));
+        } catch (IOException e) {
+            throw new IllegalStateException("File upload failed", e);
+        }
+
+        Submission submission = new Submission();
+        submission.setAssignmentId(assignment);
+        submission.setStudentId(student);
+        submission.setFilePath(stored.getRelativePath());
+        submission.setSubmittedAt(new Date());
+        submissionRepository.save(submission);
+        submissionSimilarityService.submitted(submission.getSubmissionId(), assignmentId, student.getUserAccountId(),
+                submission.getFilePath());
+    }
+
+    @Transactional
     public void gradeAssignment(int studentID, int assigID, float grade, HttpServletRequest request ) {
         Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
         if (loggedInInstructor == null) {
@@ -97,6 +181,8 @@ public class AssignmentService {
             if (s.getAssignmentId().getAssignmentId() == assignment.getAssignmentId()) {
                 s.setGrade(grade);
                 submissionRepository.save(s);
+                gradebookService.recordAssignmentGrade(assignment.getCourseID().getCourseId(), studentID,
+                        assignment.getAssignmentId(), grade);
                 return;
             }
         }
@@ -183,41 +269,101 @@ public class AssignmentService {
         return feedback;
     }
 
-    public List <String> assignmentSubmissions (int assignmentId, HttpServletRequest request)
+    public PageDto<SubmissionReportDto> assignmentSubmissions(int assignmentId, int page, int size, String sort,
+                                                              String direction, HttpServletRequest request)
     {
-        if (assignmentRepository.existsById(assignmentId))
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment with ID " + assignmentId + " not found."));
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        int instructorId = assignment.getCourseID().getInstructorId().getUserAccountId();
+
+        if (loggedInInstructor == null)
         {
-            Assignment assignment = assignmentRepository.findById(assignmentId).get();
-            List <Submission> assignmentSubmissions = submissionRepository.findAllByAssignmentId(assignment);
-            Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
-            int instructorId = assignment.getCourseID().getInstructorId().getUserAccountId();
-
-            if (loggedInInstructor == null)
-            {
-                throw new IllegalArgumentException("No logged in user is found.");
-            }
-            else if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3)
-            {
-                throw new IllegalArgumentException("Logged-in user is not an instructor.");
-            }
-            else if (instructorId != loggedInInstructor.getUserId())
-            {
-                throw new IllegalArgumentException("Logged-in instructor does not have access for this assignment submissions.");
-            }
+            throw new IllegalArgumentException("No logged in user is found.");
+        }
+        else if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3)
+        {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        else if (instructorId != loggedInInstructor.getUserId())
+        {
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this assignment submissions.");
+        }
 
-            List <String> submissions = new ArrayList<>();
-            for (Submission submission : assignmentSubmissions)
-            {
-                Student student = submission.getStudentId();
-                String studentSubmission = student.getUserAccountId() + ": " + submission.getGrade();
-                submissions.add(studentSubmission);
+        Pageable pageable = ReportSort.pageable(page, size, sort, direction, SUBMISSION_REPORT_SORTS, "studentId.userAccountId");
+        return new PageDto<>(submissionRepository.findSubmissionReport(assignmentId, pageable));
+    }
+
+    // Streams every submitted file plus a manifest.csv as one ZIP. Rows are read with two streamed
+    // queries (manifest first, then files) so memory stays flat however large the class is.
+    @Transactional(readOnly = true)
+    public void exportSubmissions(int assignmentId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (loggedInInstructor == null) {
+            throw new IllegalArgumentException("No logged in user is found.");
+        }
+        if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3) {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment with ID " + assignmentId + " not found."));
+        if (assignment.getCourseID().getInstructorId().getUserAccountId() != loggedInInstructor.getUserId()) {
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this assignment submissions.");
+        }
+
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=\"assignment-" + assignmentId + "-submissions.zip\"");
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(response.getOutputStream(), 64 * 1024));
+        // most submissions (pdf, docx, images) are already compressed, so favour throughput
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        zip.putNextEntry(new ZipEntry("manifest.csv"));
+        Writer manifest = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        manifest.write("student_id,submitted_at,grade,feedback,file\r\n");
+        SimpleDateFormat timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        try (Stream<Object[]> rows = submissionRepository.streamExportRowsByAssignmentId(assignmentId)) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] row = it.next();
+                Path file = submissionFile((String) row[4]);
+                manifest.write(row[0] + ","
+                        + (row[1] == null ? "" : timestamp.format((Date) row[1])) + ","
+                        + (row[2] == null ? "" : row[2]) + ","
+                        + Csv.field((String) row[3]) + ","
+                        + (file == null ? "" : Csv.field(exportName(row[0], file))) + "\r\n");
             }
-            return submissions;
         }
-        else
-        {
-            throw new IllegalArgumentException("Assignment with ID " + assignmentId + " not found.");
+        manifest.flush();
+        zip.closeEntry();
+
+        try (Stream<Object[]> rows = submissionRepository.streamExportRowsByAssignmentId(assignmentId)) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] row = it.next();
+                Path file = submissionFile((String) row[4]);
+                if (file == null) {
+                    continue;
+                }
+                ZipEntry entry = new ZipEntry(exportName(row[0], file));
+                entry.setTime(Files.getLastModifiedTime(file).toMillis());
+                zip.putNextEntry(entry);
+                Files.copy(file, zip);
+                zip.closeEntry();
+            }
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    // null for text-only submissions and for files that are no longer on disk
+    private Path submissionFile(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return null;
         }
+        Path file = submissionStore.resolve(relativePath);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private static String exportName(Object studentId, Path file) {
+        return "submissions/" + studentId + ContentAddressedStore.extensionOf(file.getFileName().toString());
     }
 
     public void addAssignment(AssignmentDto assignment, HttpServletRequest request) {
@@ -239,12 +385,40 @@ public class AssignmentService {
         if (exist) {
             throw new IllegalArgumentException("Assignment already exists");
         }
+        if (assignment.getDueDate() != null && assignment.getDueDate().before(new Date())) {
+            throw new IllegalArgumentException("Due date must be in the future.");
+        }
         Assignment assignment1=new Assignment();
         assignment1.setDescription(assignment.getAssignmentDescription());
         assignment1.setTitle(assignment.getAssignmentTitle());
-        assignment1.setDueDate(new Date());
+        assignment1.setDueDate(assignment.getDueDate() != null ? assignment.getDueDate() : new Date());
         assignment1.setCourseID(course);
 
         assignmentRepository.save(assignment1);
+        reminderScheduler.scheduleAssignment(assignment1.getAssignmentId(), course.getCourseId(), course.getCourseName(),
+                assignment1.getTitle(), assignment1.getDueDate());
+    }
+
+    public void updateDueDate(int assignmentId, Date dueDate, HttpServletRequest request) {
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (loggedInInstructor == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3) {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment with ID " + assignmentId + " not found."));
+        Course course = assignment.getCourseID();
+        if (course.getInstructorId().getUserAccountId() != loggedInInstructor.getUserId()) {
+            throw new IllegalArgumentException("You are not the Instructor of this course");
+        }
+        if (dueDate == null || dueDate.before(new Date())) {
+            throw new IllegalArgumentException("Due date must be in the future.");
+        }
+        assignment.setDueDate(dueDate);
+        assignmentRepository.save(assignment);
+        reminderScheduler.scheduleAssignment(assignmentId, course.getCourseId(), course.getCourseName(),
+                assignment.getTitle(), dueDate);
     }
 }
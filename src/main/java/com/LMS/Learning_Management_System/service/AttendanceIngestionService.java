@@ -0,0 +1,117 @@
+package com.LMS.Learning_Management_System.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Write-behind lesson check-ins.
+ * <p>
+ * Each lesson keeps a concurrent set of the students already checked in, seeded from the table
+ * on first use, so a repeated check-in costs one set lookup. New check-ins are acknowledged as
+ * soon as they are queued and a scheduled flush writes them with batched {@code INSERT IGNORE};
+ * the unique key on (lesson_id, student_id) keeps the table correct if two instances race.
+ */
+@Service
+public class AttendanceIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceIngestionService.class);
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final long IDLE_LESSON_MILLIS = 6L * 60 * 60 * 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxRowsPerFlush;
+    private final Map<Integer, LessonCheckIns> lessons = new ConcurrentHashMap<>();
+    // lessonId in the high half, studentId in the low half
+    private final ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>();
+
+    public AttendanceIngestionService(JdbcTemplate jdbcTemplate,
+                                      @Value("${lms.attendance.max-rows-per-flush:20000}") int maxRowsPerFlush) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRowsPerFlush = maxRowsPerFlush;
+    }
+
+    // only consults lessons already in memory, so probing unknown ids costs nothing
+    public boolean isCheckedIn(int lessonId, int studentId) {
+        LessonCheckIns lesson = lessons.get(lessonId);
+        return lesson != null && lesson.students.contains(studentId);
+    }
+
+    // returns false when the student was already checked in
+    public boolean checkIn(int lessonId, int studentId) {
+        if (!lesson(lessonId).students.add(studentId)) {
+            return false;
+        }
+        pending.add(((long) lessonId << 32) | (studentId & 0xffffffffL));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${lms.attendance.flush-interval-ms:250}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        Long next;
+        while (rows.size() < maxRowsPerFlush && (next = pending.poll()) != null) {
+            rows.add(new Object[]{(int) (next >>> 32), (int) next.longValue()});
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT IGNORE INTO lesson_attendance (lesson_id, student_id) VALUES (?, ?)",
+                        rows.subList(from, Math.min(rows.size(), from + INSERT_BATCH_SIZE)));
+            }
+        } catch (RuntimeException e) {
+            // INSERT IGNORE makes the retry safe for rows that did get written
+            logger.warn("Attendance flush of {} rows failed, retrying on the next run", rows.size(), e);
+            for (Object[] row : rows) {
+                pending.add(((long) (int) row[0] << 32) | ((int) row[1] & 0xffffffffL));
+            }
+        }
+    }
+
+    // forgets lessons nobody checked in to for a while; they are reseeded from the table when used again
+    @Scheduled(fixedDelay = 30 * 60 * 1000, initialDelay = 30 * 60 * 1000)
+    public void evictIdleLessons() {
+        long cutoff = System.currentTimeMillis() - IDLE_LESSON_MILLIS;
+        lessons.values().removeIf(lesson -> lesson.lastUsed < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        while (!pending.isEmpty()) {
+            int before = pending.size();
+            flush();
+            if (pending.size() >= before) {
+                break;
+            }
+        }
+    }
+
+    private LessonCheckIns lesson(int lessonId) {
+        LessonCheckIns lesson = lessons.computeIfAbsent(lessonId, id -> {
+            LessonCheckIns seeded = new LessonCheckIns();
+            seeded.students.addAll(jdbcTemplate.queryForList("SELECT student_id FROM lesson_attendance WHERE lesson_id = ?",
+                    Integer.class, id));
+            return seeded;
+        });
+        lesson.lastUsed = System.currentTimeMillis();
+        return lesson;
+    }
+
+    private static final class LessonCheckIns {
+        private final Set<Integer> students = ConcurrentHashMap.newKeySet();
+        private volatile long lastUsed;
+    }
+}
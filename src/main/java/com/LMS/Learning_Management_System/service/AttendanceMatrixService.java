@@ -0,0 +1,199 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.dto.LessonTurnoutDto;
+import com.LMS.Learning_Management_System.dto.StudentAttendanceDto;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory attendance matrix per course.
+ * <p>
+ * Students and lessons get dense ordinals within the course. Each lesson keeps a bitset over
+ * student ordinals and each student a bitset over lesson ordinals, so turnout and attendance
+ * rates are popcounts rather than joins. All courses are loaded at startup with three scans;
+ * a course first touched before that finishes is loaded on its own. Check-ins, new lessons and
+ * enrollment changes update the matrix as they happen.
+ */
+@Service
+public class AttendanceMatrixService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, CourseMatrix> courses = new ConcurrentHashMap<>();
+
+    public AttendanceMatrixService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        Map<Integer, CourseMatrix> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT course_id, lesson_id FROM lesson ORDER BY course_id, lesson_order, lesson_id", resultSet -> {
+            loaded.computeIfAbsent(resultSet.getInt(1), id -> new CourseMatrix()).addLesson(resultSet.getInt(2));
+        });
+        jdbcTemplate.query("SELECT course_id, student_id FROM enrollment", resultSet -> {
+            loaded.computeIfAbsent(resultSet.getInt(1), id -> new CourseMatrix()).enroll(resultSet.getInt(2));
+        });
+        jdbcTemplate.query("SELECT l.course_id, a.lesson_id, a.student_id FROM lesson_attendance a " +
+                "JOIN lesson l ON l.lesson_id = a.lesson_id", resultSet -> {
+            CourseMatrix matrix = loaded.get(resultSet.getInt(1));
+            if (matrix != null) {
+                matrix.attend(resultSet.getInt(2), resultSet.getInt(3));
+            }
+        });
+        loaded.forEach(courses::putIfAbsent);
+    }
+
+    public void recordCheckIn(int courseId, int lessonId, int studentId) {
+        course(courseId).attend(lessonId, studentId);
+    }
+
+    public void lessonAdded(int courseId, int lessonId) {
+        course(courseId).addLesson(lessonId);
+    }
+
+    public void lessonRemoved(int courseId, int lessonId) {
+        course(courseId).removeLesson(lessonId);
+    }
+
+    public void enrolled(int courseId, int studentId) {
+        course(courseId).enroll(studentId);
+    }
+
+    public void unenrolled(int courseId, int studentId) {
+        course(courseId).unenroll(studentId);
+    }
+
+    public List<LessonTurnoutDto> lessonTurnout(int courseId) {
+        return course(courseId).lessonTurnout();
+    }
+
+    // enrolled students whose attendance rate is below the threshold, lowest first; a null threshold returns all
+    public List<StudentAttendanceDto> studentRates(int courseId, Double below) {
+        return course(courseId).studentRates(below == null ? Double.POSITIVE_INFINITY : below);
+    }
+
+    private CourseMatrix course(int courseId) {
+        return courses.computeIfAbsent(courseId, this::loadCourse);
+    }
+
+    private CourseMatrix loadCourse(int courseId) {
+        CourseMatrix matrix = new CourseMatrix();
+        for (Integer lessonId : jdbcTemplate.queryForList("SELECT lesson_id FROM lesson WHERE course_id = ? " +
+                "ORDER BY lesson_order, lesson_id", Integer.class, courseId)) {
+            matrix.addLesson(lessonId);
+        }
+        for (Integer studentId : jdbcTemplate.queryForList("SELECT student_id FROM enrollment WHERE course_id = ?",
+                Integer.class, courseId)) {
+            matrix.enroll(studentId);
+        }
+        jdbcTemplate.query("SELECT a.lesson_id, a.student_id FROM lesson_attendance a JOIN lesson l ON l.lesson_id = a.lesson_id " +
+                "WHERE l.course_id = ?", resultSet -> {
+            matrix.attend(resultSet.getInt(1), resultSet.getInt(2));
+        }, courseId);
+        return matrix;
+    }
+
+    private static final class CourseMatrix {
+        private final Map<Integer, Integer> studentOrdinals = new HashMap<>();
+        private final List<Integer> studentIds = new ArrayList<>();
+        private final List<BitSet> studentLessons = new ArrayList<>();
+        private final BitSet enrolledStudents = new BitSet();
+        // lessons in outline order; ordinals are never reused, so removed lessons leave a gap
+        private final Map<Integer, Integer> lessonOrdinals = new HashMap<>();
+        private final List<Integer> lessonIds = new ArrayList<>();
+        private final List<BitSet> lessonStudents = new ArrayList<>();
+        private final BitSet activeLessons = new BitSet();
+
+        synchronized void addLesson(int lessonId) {
+            lessonOrdinal(lessonId);
+        }
+
+        synchronized void removeLesson(int lessonId) {
+            Integer lesson = lessonOrdinals.remove(lessonId);
+            if (lesson == null) {
+                return;
+            }
+            BitSet students = lessonStudents.get(lesson);
+            for (int student = students.nextSetBit(0); student >= 0; student = students.nextSetBit(student + 1)) {
+                studentLessons.get(student).clear(lesson);
+            }
+            students.clear();
+            activeLessons.clear(lesson);
+        }
+
+        synchronized void enroll(int studentId) {
+            enrolledStudents.set(studentOrdinal(studentId));
+        }
+
+        synchronized void unenroll(int studentId) {
+            Integer student = studentOrdinals.get(studentId);
+            if (student != null) {
+                enrolledStudents.clear(student);
+            }
+        }
+
+        synchronized void attend(int lessonId, int studentId) {
+            int lesson = lessonOrdinal(lessonId);
+            int student = studentOrdinal(studentId);
+            lessonStudents.get(lesson).set(student);
+            studentLessons.get(student).set(lesson);
+        }
+
+        synchronized List<LessonTurnoutDto> lessonTurnout() {
+            int enrolled = enrolledStudents.cardinality();
+            List<LessonTurnoutDto> turnout = new ArrayList<>(activeLessons.cardinality());
+            BitSet attended = new BitSet();
+            for (int lesson = activeLessons.nextSetBit(0); lesson >= 0; lesson = activeLessons.nextSetBit(lesson + 1)) {
+                attended.clear();
+                attended.or(lessonStudents.get(lesson));
+                attended.and(enrolledStudents);
+                int count = attended.cardinality();
+                turnout.add(new LessonTurnoutDto(lessonIds.get(lesson), count, enrolled, enrolled == 0 ? 0 : (double) count / enrolled));
+            }
+            return turnout;
+        }
+
+        synchronized List<StudentAttendanceDto> studentRates(double below) {
+            int lessons = activeLessons.cardinality();
+            List<StudentAttendanceDto> result = new ArrayList<>();
+            for (int student = enrolledStudents.nextSetBit(0); student >= 0; student = enrolledStudents.nextSetBit(student + 1)) {
+                int attended = studentLessons.get(student).cardinality();
+                double rate = lessons == 0 ? 0 : (double) attended / lessons;
+                if (rate < below) {
+                    result.add(new StudentAttendanceDto(studentIds.get(student), attended, lessons, rate));
+                }
+            }
+            result.sort(Comparator.comparingDouble(StudentAttendanceDto::getRate)
+                    .thenComparingInt(StudentAttendanceDto::getStudent_id));
+            return result;
+        }
+
+        private int lessonOrdinal(int lessonId) {
+            return lessonOrdinals.computeIfAbsent(lessonId, id -> {
+                int ordinal = lessonIds.size();
+                lessonIds.add(id);
+                lessonStudents.add(new BitSet());
+                activeLessons.set(ordinal);
+                return ordinal;
+            });
+        }
+
+        private int studentOrdinal(int studentId) {
+            return studentOrdinals.computeIfAbsent(studentId, id -> {
+                studentIds.add(id);
+                studentLessons.add(new BitSet());
+                return studentIds.size() - 1;
+            });
+        }
+    }
+}
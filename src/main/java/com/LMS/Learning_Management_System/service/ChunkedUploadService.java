@@ -0,0 +1,364 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.dto.ChunkedUploadDto;
+import com.LMS.Learning_Management_System.entity.Course;
+import com.LMS.Learning_Management_System.entity.Users;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Resumable chunked uploads for course media.
+ * <p>
+ * The client announces the total size, then PUTs fixed-size chunks in any order (and in
+ * parallel); each chunk is written at its own offset of a sparse {@code .part} file with a
+ * positional channel write. The set of received chunks is kept in a bitmap that is persisted
+ * next to the part file, so an interrupted upload, or a restart of the server, only costs the
+ * chunks that were in flight.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long ABANDONED_AFTER_MILLIS = 24L * 60 * 60 * 1000;
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    private final CourseService courseService;
+    private final MediaStore mediaStore;
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<String, ChunkedUpload> uploads = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(CourseService courseService, MediaStore mediaStore,
+                                @Value("${lms.media.chunked-dir:media/chunked}") String chunkedDir,
+                                @Value("${lms.media.max-bytes:10737418240}") long maxBytes) {
+        this.courseService = courseService;
+        this.mediaStore = mediaStore;
+        this.directory = Paths.get(chunkedDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    public ChunkedUploadDto init(int courseId, String fileName, long totalSize, Integer chunkSize, HttpServletRequest request) {
+        courseService.checkBeforeLogic(courseId, request);
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (fileName == null || fileName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid filename");
+        }
+        if (totalSize <= 0) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+        if (totalSize > maxBytes) {
+            throw new IllegalArgumentException("File exceeds the maximum allowed size of " + maxBytes + " bytes");
+        }
+        int size = chunkSize == null ? DEFAULT_CHUNK_SIZE : chunkSize;
+        if (size < MIN_CHUNK_SIZE || size > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between " + MIN_CHUNK_SIZE + " and " + MAX_CHUNK_SIZE + " bytes");
+        }
+
+        ChunkedUpload upload = new ChunkedUpload(UUID.randomUUID().toString(), courseId, loggedInInstructor.getUserId(),
+                courseService.sanitizeFilename(fileName), totalSize, size, new BitSet());
+        try {
+            Files.createDirectories(directory);
+            // SPARSE is a hint; on file systems without sparse support the chunks are still written in place.
+            // The file is created empty and the chunks extend it as they arrive.
+            FileChannel.open(partFile(upload.id), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE, StandardOpenOption.SPARSE).close();
+            saveMeta(upload);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start upload", e);
+        }
+        uploads.put(upload.id, upload);
+        return toDto(upload);
+    }
+
+    public ChunkedUploadDto uploadChunk(String uploadId, int index, InputStream body, HttpServletRequest request) {
+        ChunkedUpload upload = findOwnUpload(uploadId, request);
+        if (index < 0 || index >= upload.totalChunks) {
+            throw new IllegalArgumentException("Chunk index must be between 0 and " + (upload.totalChunks - 1));
+        }
+        // chunks share the read lock so they are written in parallel; complete and abort wait for them
+        upload.files.readLock().lock();
+        try {
+            return writeChunk(upload, index, body);
+        } finally {
+            upload.files.readLock().unlock();
+        }
+    }
+
+    private ChunkedUploadDto writeChunk(ChunkedUpload upload, int index, InputStream body) {
+        synchronized (upload) {
+            if (upload.completed) {
+                throw new IllegalArgumentException("Upload is already completed");
+            }
+        }
+        long position = (long) index * upload.chunkSize;
+        long expected = Math.min(upload.chunkSize, upload.totalSize - position);
+
+        long written = 0;
+        try (ReadableByteChannel source = Channels.newChannel(body);
+             FileChannel target = FileChannel.open(partFile(upload.id), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                if (written + buffer.remaining() > expected) {
+                    throw new IllegalArgumentException("Chunk " + index + " must be exactly " + expected + " bytes");
+                }
+                while (buffer.hasRemaining()) {
+                    written += target.write(buffer, position + written);
+                }
+                buffer.clear();
+            }
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("No upload found with the given ID: " + upload.id);
+        } catch (IOException e) {
+            throw new IllegalStateException("File upload failed", e);
+        }
+        if (written != expected) {
+            throw new IllegalArgumentException("Chunk " + index + " is incomplete: received " + written + " of " + expected + " bytes");
+        }
+
+        synchronized (upload) {
+            if (upload.completed) {
+                throw new IllegalArgumentException("Upload is already completed");
+            }
+            upload.received.set(index);
+            try {
+                saveMeta(upload);
+            } catch (IOException e) {
+                upload.received.clear(index);
+                throw new IllegalStateException("File upload failed", e);
+            }
+            return toDto(upload);
+        }
+    }
+
+    public ChunkedUploadDto getStatus(String uploadId, HttpServletRequest request) {
+        ChunkedUpload upload = findOwnUpload(uploadId, request);
+        synchronized (upload) {
+            return toDto(upload);
+        }
+    }
+
+    public void complete(String uploadId, HttpServletRequest request) {
+        ChunkedUpload upload = findOwnUpload(uploadId, request);
+        Course course = courseService.checkBeforeLogic(upload.courseId, request);
+        upload.files.writeLock().lock();
+        try {
+            completeLocked(upload, course);
+        } finally {
+            upload.files.writeLock().unlock();
+        }
+    }
+
+    private void completeLocked(ChunkedUpload upload, Course course) {
+        synchronized (upload) {
+            if (upload.completed) {
+                throw new IllegalArgumentException("Upload is already completed");
+            }
+            int missing = upload.totalChunks - upload.received.cardinality();
+            if (missing > 0) {
+                throw new IllegalArgumentException("Upload is missing " + missing + " chunk(s)");
+            }
+            Path part = partFile(upload.id);
+            String media;
+            try {
+                try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                    if (channel.size() != upload.totalSize) {
+                        throw new IllegalStateException("Upload size mismatch for " + upload.id);
+                    }
+                    channel.force(true);
+                }
+                media = mediaStore.adopt(part, upload.fileName);
+                Files.deleteIfExists(metaFile(upload.id));
+            } catch (IOException e) {
+                throw new IllegalStateException("File upload failed", e);
+            }
+            upload.completed = true;
+            uploads.remove(upload.id);
+            courseService.attachMedia(course, media);
+        }
+    }
+
+    public void abort(String uploadId, HttpServletRequest request) {
+        ChunkedUpload upload = findOwnUpload(uploadId, request);
+        upload.files.writeLock().lock();
+        try {
+            synchronized (upload) {
+                upload.completed = true;
+                uploads.remove(upload.id);
+                deleteFiles(upload.id);
+            }
+        } finally {
+            upload.files.writeLock().unlock();
+        }
+    }
+
+    // drops uploads nobody has touched for a day; the meta file is rewritten on every chunk
+    @Scheduled(fixedDelay = 60 * 60 * 1000, initialDelay = 60 * 1000)
+    public void removeAbandonedUploads() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - ABANDONED_AFTER_MILLIS;
+        try (DirectoryStream<Path> metaFiles = Files.newDirectoryStream(directory, "*.meta")) {
+            for (Path meta : metaFiles) {
+                if (Files.getLastModifiedTime(meta).toMillis() < cutoff) {
+                    String id = meta.getFileName().toString().replace(".meta", "");
+                    ChunkedUpload upload = uploads.remove(id);
+                    if (upload == null) {
+                        deleteFiles(id);
+                        continue;
+                    }
+                    upload.files.writeLock().lock();
+                    try {
+                        synchronized (upload) {
+                            upload.completed = true;
+                        }
+                        deleteFiles(id);
+                    } finally {
+                        upload.files.writeLock().unlock();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // try again on the next run
+        }
+    }
+
+    private ChunkedUpload findOwnUpload(String uploadId, HttpServletRequest request) {
+        Users loggedInUser = (Users) request.getSession().getAttribute("user");
+        if (loggedInUser == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        if (uploadId == null || !UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("No upload found with the given ID: " + uploadId);
+        }
+        ChunkedUpload upload = uploads.computeIfAbsent(uploadId, this::loadMeta);
+        if (upload == null) {
+            throw new IllegalArgumentException("No upload found with the given ID: " + uploadId);
+        }
+        if (upload.userId != loggedInUser.getUserId()) {
+            throw new IllegalArgumentException("You are not authorized to access this upload.");
+        }
+        return upload;
+    }
+
+    // picks up uploads started before a restart
+    private ChunkedUpload loadMeta(String uploadId) {
+        Path meta = metaFile(uploadId);
+        if (!Files.isRegularFile(meta) || !Files.isRegularFile(partFile(uploadId))) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read upload state", e);
+        }
+        return new ChunkedUpload(uploadId,
+                Integer.parseInt(properties.getProperty("courseId")),
+                Integer.parseInt(properties.getProperty("userId")),
+                properties.getProperty("fileName"),
+                Long.parseLong(properties.getProperty("totalSize")),
+                Integer.parseInt(properties.getProperty("chunkSize")),
+                BitSet.valueOf(HexFormat.of().parseHex(properties.getProperty("received", ""))));
+    }
+
+    // written to a temp file and renamed so a crash never leaves a torn bitmap behind
+    private void saveMeta(ChunkedUpload upload) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("courseId", Integer.toString(upload.courseId));
+        properties.setProperty("userId", Integer.toString(upload.userId));
+        properties.setProperty("fileName", upload.fileName);
+        properties.setProperty("totalSize", Long.toString(upload.totalSize));
+        properties.setProperty("chunkSize", Integer.toString(upload.chunkSize));
+        properties.setProperty("received", HexFormat.of().formatHex(upload.received.toByteArray()));
+        Path temp = directory.resolve(upload.id + ".meta.tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temp, metaFile(upload.id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteFiles(String uploadId) {
+        try {
+            Files.deleteIfExists(partFile(uploadId));
+            Files.deleteIfExists(metaFile(uploadId));
+        } catch (IOException e) {
+            // left for the next cleanup run
+        }
+    }
+
+    private Path partFile(String uploadId) {
+        return directory.resolve(uploadId + ".part");
+    }
+
+    private Path metaFile(String uploadId) {
+        return directory.resolve(uploadId + ".meta");
+    }
+
+    private static ChunkedUploadDto toDto(ChunkedUpload upload) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = upload.received.nextClearBit(0); i < upload.totalChunks; i = upload.received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        return new ChunkedUploadDto(upload.id, upload.fileName, upload.totalSize, upload.chunkSize, upload.totalChunks,
+                upload.received.cardinality(), missing);
+    }
+
+    private static final class ChunkedUpload {
+        private final String id;
+        private final int courseId;
+        private final int userId;
+        private final String fileName;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int totalChunks;
+        private final BitSet received;
+        private final ReadWriteLock files = new ReentrantReadWriteLock();
+        private boolean completed;
+
+        private ChunkedUpload(String id, int courseId, int userId, String fileName, long totalSize, int chunkSize, BitSet received) {
+            this.id = id;
+            this.courseId = courseId;
+            this.userId = userId;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.received = received;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.entity.Users;
+import com.LMS.Learning_Management_System.repository.CourseRepository;
+import com.LMS.Learning_Management_System.repository.EnrollmentRepository;
+import com.LMS.Learning_Management_System.repository.StudentRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves course media with HTTP Range, strong ETags and conditional GETs.
+ * <p>
+ * When the connector supports it the body is handed to Tomcat's sendfile, so the bytes never
+ * pass through the JVM heap; otherwise it falls back to {@link FileChannel#transferTo} with
+ * small bounded buffers. Access decisions are cached for a short time so seeking in a video
+ * does not cost an enrollment query per range request.
+ */
+@Service
+public class CourseMediaService {
+
+    private static final long ACCESS_CACHE_TTL_MILLIS = 60_000;
+    private static final int ACCESS_CACHE_MAX_ENTRIES = 100_000;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final MediaStore mediaStore;
+    private final MediaRenditionService mediaRenditionService;
+    private final Map<Long, Long> accessCache = new ConcurrentHashMap<>();
+    private final Map<Integer, String> mediaNames = new ConcurrentHashMap<>();
+
+    public CourseMediaService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+                              StudentRepository studentRepository, MediaStore mediaStore,
+                              MediaRenditionService mediaRenditionService) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.mediaStore = mediaStore;
+        this.mediaRenditionService = mediaRenditionService;
+    }
+
+    // size picks a pre-scaled variant for images; other media ignore it
+    public void serveMedia(int courseId, Integer size, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Users loggedInUser = (Users) request.getSession().getAttribute("user");
+        if (loggedInUser == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        checkAccess(courseId, loggedInUser);
+
+        Path file = resolveMedia(courseId);
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (size != null) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Size must be positive.");
+            }
+            file = mediaRenditionService.resolve(file, size);
+        }
+        serveFile(file, request, response);
+    }
+
+    // called when a course's media changes or the course is deleted
+    public void evict(int courseId) {
+        mediaNames.remove(courseId);
+        accessCache.keySet().removeIf(key -> (int) (key >>> 32) == courseId);
+    }
+
+    void serveFile(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis())
+                + "-" + Integer.toHexString(file.getFileName().toString().hashCode()) + "\"";
+
+        response.setHeader("ETag", etag);
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("Cache-Control", "private, max-age=3600");
+        if (matches(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        String contentType = Files.probeContentType(file);
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        long[] bounds = range != null && (ifRange == null || ifRange.equals(etag)) ? parseRange(range, length) : null;
+        if (bounds == UNSATISFIABLE) {
+            response.setHeader("Content-Range", "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (bounds != null) {
+            start = bounds[0];
+            end = bounds[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    private void checkAccess(int courseId, Users user) {
+        long key = ((long) courseId << 32) | (user.getUserId() & 0xffffffffL);
+        Long expiry = accessCache.get(key);
+        long now = System.currentTimeMillis();
+        if (expiry != null && expiry > now) {
+            return;
+        }
+        int userType = user.getUserTypeId().getUserTypeId();
+        boolean allowed;
+        if (userType == 3) {
+            allowed = courseRepository.findByInstructorId(user.getUserId(), courseId);
+        } else if (userType == 2) {
+            allowed = courseRepository.existsById(courseId) && enrollmentRepository.existsByStudentAndCourse(
+                    studentRepository.getReferenceById(user.getUserId()), courseRepository.getReferenceById(courseId));
+        } else {
+            allowed = true;
+        }
+        if (!allowed) {
+            accessCache.remove(key);
+            throw new IllegalArgumentException("You don't have permission to access this course media.");
+        }
+        if (accessCache.size() > ACCESS_CACHE_MAX_ENTRIES) {
+            accessCache.values().removeIf(entryExpiry -> entryExpiry <= now);
+        }
+        accessCache.put(key, now + ACCESS_CACHE_TTL_MILLIS);
+    }
+
+    private Path resolveMedia(int courseId) {
+        String media = mediaNames.computeIfAbsent(courseId, id -> courseRepository.findMediaByCourseId(id).orElse(""));
+        return mediaStore.resolve(media);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // single "bytes=a-b", "bytes=a-" or "bytes=-n" range. Returns null for a header to ignore
+    // (malformed, another unit or several ranges, per RFC 7233 the full body is sent) and
+    // UNSATISFIABLE for a valid range that lies outside the file.
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        if (!first.chars().allMatch(Character::isDigit) || !last.chars().allMatch(Character::isDigit)
+                || (first.isEmpty() && last.isEmpty())) {
+            return null;
+        }
+        try {
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix == 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            if (!last.isEmpty() && Long.parseLong(last) < start) {
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            // more digits than a long holds
+            return null;
+        }
+    }
+}
@@ -8,26 +8,32 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 
 @Service
 public class CourseService {
+    static final String MEDIA_UPLOAD_DIR = "media/uploads/";
+
     private final InstructorRepository instructorRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final EnrollmentService enrollmentService;
     private final NotificationsService notificationsService;
+    private final CourseMediaService courseMediaService;
+    private final MediaStore mediaStore;
+    private final MediaRenditionService mediaRenditionService;
 
-    public CourseService(InstructorRepository instructorRepository, CourseRepository courseRepository, EnrollmentRepository enrollmentRepository, EnrollmentService enrollmentService, NotificationsService notificationsService) {
+    public CourseService(InstructorRepository instructorRepository, CourseRepository courseRepository, EnrollmentRepository enrollmentRepository, EnrollmentService enrollmentService, NotificationsService notificationsService, CourseMediaService courseMediaService, MediaStore mediaStore, MediaRenditionService mediaRenditionService) {
         this.instructorRepository = instructorRepository;
         this.courseRepository = courseRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.enrollmentService = enrollmentService;
         this.notificationsService = notificationsService;
+        this.courseMediaService = courseMediaService;
+        this.mediaStore = mediaStore;
+        this.mediaRenditionService = mediaRenditionService;
     }
     public void addCourse(Course course , HttpServletRequest request , int instructorId){
         // auth
@@ -109,6 +115,8 @@ public class CourseService {
     public void deleteCourse(int courseId, HttpServletRequest request) {
         Course existingCourse = checkBeforeLogic(courseId , request);
         courseRepository.delete(existingCourse);
+        courseMediaService.evict(courseId);
+        mediaStore.release(existingCourse.getMedia());
     }
     public void uploadMediaFile(int courseId, MultipartFile file, HttpServletRequest request) {
         Course course = checkBeforeLogic(courseId , request);
@@ -123,38 +131,31 @@ public class CourseService {
             throw new IllegalArgumentException("Invalid filename");
         }
         
-        // Sanitize filename to prevent path traversal
-        String sanitizedFilename = sanitizeFilename(originalFilename);
-        
-        String uploadDir = "media/uploads/";
-        Path directory = Paths.get(uploadDir);
-        if (!Files.exists(directory)) {
-            try {
-                Files.createDirectories(directory);
-            } catch (IOException e) {
-                throw new IllegalStateException("Failed to create upload directory", e);
-            }
-        }
-
-        String fileName = System.currentTimeMillis() + "_" + sanitizedFilename;
-        Path destination = directory.resolve(fileName);
-        
-        // Ensure the resolved path is still within the upload directory
-        if (!destination.startsWith(directory)) {
-            throw new IllegalArgumentException("Invalid file path");
-        }
-
-        try {
-            file.transferTo(destination.toFile());
+        String media;
+        try (InputStream in = file.getInputStream()) {
+            media = mediaStore.store(in, originalFilename);
         } catch (IOException e) {
             throw new IllegalStateException("File upload failed", e);
         }
+        attachMedia(course, media);
+    }
 
-        course.setMedia(fileName);
-        courseRepository.save(course);
+    // points the course at a stored blob, which already carries a reference for it, and releases the old one
+    void attachMedia(Course course, String media) {
+        String previous = course.getMedia();
+        course.setMedia(media);
+        try {
+            courseRepository.save(course);
+        } catch (RuntimeException e) {
+            mediaStore.release(media);
+            throw e;
+        }
+        courseMediaService.evict(course.getCourseId());
+        mediaStore.release(previous);
+        mediaRenditionService.generateAll(media);
     }
     
-    private String sanitizeFilename(String filename) {
+    String sanitizeFilename(String filename) {
         // Remove path characters and keep only safe characters
         String sanitized = filename.replaceAll("[^a-zA-Z0-9._-]", "_");
         
@@ -172,7 +173,7 @@ public class CourseService {
 
 
 
-    private Course checkBeforeLogic(int courseId, HttpServletRequest request)
+    Course checkBeforeLogic(int courseId, HttpServletRequest request)
     {
         Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
         if (loggedInInstructor == null) {
@@ -21,13 +21,15 @@ public class EnrollmentService {
     private final CourseRepository courseRepository;
 
     private final NotificationsService notificationsService;
+    private final AttendanceMatrixService attendanceMatrixService;
 
 
-    public EnrollmentService(EnrollmentRepository enrollmentRepository, StudentRepository studentRepository, CourseRepository courseRepository, NotificationsService notificationsService) {
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, StudentRepository studentRepository, CourseRepository courseRepository, NotificationsService notificationsService, AttendanceMatrixService attendanceMatrixService) {
         this.enrollmentRepository = enrollmentRepository;
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.notificationsService = notificationsService;
+        this.attendanceMatrixService = attendanceMatrixService;
     }
 
     public void enrollInCourse(Enrollment enrollmentRequest, HttpServletRequest request) {
@@ -58,6 +60,7 @@ public class EnrollmentService {
         enrollment.setEnrollmentDate(new java.util.Date());
 
         enrollmentRepository.save(enrollment);
+        attendanceMatrixService.enrolled(courseId, student.getUserAccountId());
         int stdId = enrollmentRequest.getStudent().getUserAccountId();
         notificationsService.sendNotification("Student with id "+ stdId +" Enrolled ", course.getInstructorId().getUserAccountId());
     }
@@ -92,6 +95,7 @@ public class EnrollmentService {
         }
         Enrollment enrollment = enrollmentRepository.findByStudentAndCourse(student,course);
         enrollmentRepository.deleteById(enrollment.getEnrollmentId());
+        attendanceMatrixService.unenrolled(courseId, studentId);
     }
 
 
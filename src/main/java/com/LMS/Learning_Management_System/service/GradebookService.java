@@ -0,0 +1,227 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.dto.GradebookItemDto;
+import com.LMS.Learning_Management_System.dto.GradebookRowDto;
+import com.LMS.Learning_Management_System.dto.PageDto;
+import com.LMS.Learning_Management_System.entity.GradebookEntry;
+import com.LMS.Learning_Management_System.entity.Users;
+import com.LMS.Learning_Management_System.repository.CourseRepository;
+import com.LMS.Learning_Management_System.repository.GradebookEntryRepository;
+import com.LMS.Learning_Management_System.repository.GradebookTotalRepository;
+import com.LMS.Learning_Management_System.util.Csv;
+import com.LMS.Learning_Management_System.util.ReportSort;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Denormalized gradebook: one row per (student, graded item) plus running totals per student.
+ * <p>
+ * Grading code calls {@link #recordQuizGrade} or {@link #recordAssignmentGrade} in the same
+ * transaction that saves the grade, so the grade and the gradebook commit or roll back together.
+ * The student's total row is locked first, so concurrent grades for the same student serialize
+ * and the total is adjusted by the difference instead of being recomputed. {@link #rebuild}
+ * recomputes a course from the grading and submission tables in a handful of set-based
+ * statements, which repairs any drift and back-fills grades given before the gradebook existed.
+ */
+@Service
+public class GradebookService {
+
+    public static final String QUIZ = "QUIZ";
+    public static final String ASSIGNMENT = "ASSIGNMENT";
+    // size of quiz q; adaptive quizzes draw from the pool, so their size is the configured question count
+    static final String QUIZ_MAX_SCORE_SQL =
+            "CASE WHEN q.adaptive THEN q.question_count ELSE (SELECT COUNT(*) FROM question qu WHERE qu.quiz_id = q.quiz_id) END";
+    private static final Map<String, String> GRADEBOOK_SORTS = Map.of(
+            "student_id", "student.userAccountId",
+            "first_name", "student.firstName",
+            "last_name", "student.lastName",
+            "total_score", "totalScore",
+            "graded_items", "gradedItems");
+
+    private final GradebookEntryRepository gradebookEntryRepository;
+    private final GradebookTotalRepository gradebookTotalRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final float assignmentMaxScore;
+
+    public GradebookService(GradebookEntryRepository gradebookEntryRepository,
+                            GradebookTotalRepository gradebookTotalRepository, CourseRepository courseRepository,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${lms.gradebook.assignment-max-score:100}") float assignmentMaxScore) {
+        this.gradebookEntryRepository = gradebookEntryRepository;
+        this.gradebookTotalRepository = gradebookTotalRepository;
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.assignmentMaxScore = assignmentMaxScore;
+    }
+
+    @Transactional
+    public void recordQuizGrade(int courseId, int studentId, int quizId, int grade, int questionCount) {
+        recordGrade(courseId, studentId, QUIZ, quizId, grade, (float) questionCount);
+    }
+
+    @Transactional
+    public void recordAssignmentGrade(int courseId, int studentId, int assignmentId, float grade) {
+        recordGrade(courseId, studentId, ASSIGNMENT, assignmentId, grade, assignmentMaxScore);
+    }
+
+    // callers are transactional, otherwise the row locks below would be released after each statement
+    private void recordGrade(int courseId, int studentId, String itemType, int itemId, float score, Float maxScore) {
+        jdbcTemplate.update("INSERT IGNORE INTO gradebook_total (course_id, student_id, total_score, total_max, graded_items, updated_at) " +
+                "VALUES (?, ?, 0, 0, 0, NOW())", courseId, studentId);
+        jdbcTemplate.queryForList("SELECT gradebook_total_id FROM gradebook_total WHERE course_id = ? AND student_id = ? FOR UPDATE",
+                Integer.class, courseId, studentId);
+
+        // a locking read, so the previous score is the latest committed one and not the transaction's snapshot
+        List<Map<String, Object>> previous = jdbcTemplate.queryForList("SELECT score, max_score FROM gradebook_entry " +
+                "WHERE course_id = ? AND student_id = ? AND item_type = ? AND item_id = ? FOR UPDATE",
+                courseId, studentId, itemType, itemId);
+        double scoreDelta = score;
+        double maxDelta = maxScore == null ? 0 : maxScore;
+        int itemDelta = 1;
+        if (!previous.isEmpty()) {
+            Map<String, Object> old = previous.get(0);
+            scoreDelta -= ((Number) old.get("score")).doubleValue();
+            maxDelta -= old.get("max_score") == null ? 0 : ((Number) old.get("max_score")).doubleValue();
+            itemDelta = 0;
+        }
+        jdbcTemplate.update("INSERT INTO gradebook_entry (course_id, student_id, item_type, item_id, score, max_score, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, NOW()) " +
+                "ON DUPLICATE KEY UPDATE score = VALUES(score), max_score = VALUES(max_score), updated_at = VALUES(updated_at)",
+                courseId, studentId, itemType, itemId, score, maxScore);
+        jdbcTemplate.update("UPDATE gradebook_total SET total_score = total_score + ?, total_max = total_max + ?, " +
+                "graded_items = graded_items + ?, updated_at = NOW() WHERE course_id = ? AND student_id = ?",
+                scoreDelta, maxDelta, itemDelta, courseId, studentId);
+    }
+
+    public PageDto<GradebookRowDto> getGradebook(int courseId, int page, int size, String sort, String direction,
+                                                 HttpServletRequest request) {
+        checkInstructor(courseId, request);
+        Pageable pageable = ReportSort.pageable(page, size, sort, direction, GRADEBOOK_SORTS, "student.userAccountId");
+        Page<GradebookRowDto> rows = gradebookTotalRepository.findGradebookPage(courseId, pageable);
+
+        // the items of the whole page come from one query
+        Map<Integer, GradebookRowDto> byStudent = new HashMap<>();
+        for (GradebookRowDto row : rows.getContent()) {
+            row.setItems(new ArrayList<>());
+            byStudent.put(row.getStudent_id(), row);
+        }
+        if (!byStudent.isEmpty()) {
+            for (GradebookEntry entry : gradebookEntryRepository.findByCourseIdAndStudentIds(courseId, byStudent.keySet())) {
+                byStudent.get(entry.getStudentId()).getItems().add(
+                        new GradebookItemDto(entry.getItemType(), entry.getItemId(), entry.getScore(), entry.getMaxScore()));
+            }
+        }
+        return new PageDto<>(rows);
+    }
+
+    // one line per student and one column per graded item, streamed straight from the database
+    @Transactional(readOnly = true)
+    public void exportCsv(int courseId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        checkInstructor(courseId, request);
+        List<Object[]> items = gradebookEntryRepository.findItemsByCourseId(courseId);
+        Map<String, Integer> columns = new HashMap<>();
+        for (Object[] item : items) {
+            columns.put(item[0] + ":" + item[1], columns.size());
+        }
+
+        response.setContentType("text/csv; charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"gradebook-course-" + courseId + ".csv\"");
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        StringBuilder header = new StringBuilder("student_id,first_name,last_name");
+        double totalMax = 0;
+        for (Object[] item : items) {
+            header.append(',').append(((String) item[0]).toLowerCase(Locale.ROOT)).append('_').append(item[1]);
+            totalMax += item[2] == null ? 0 : ((Number) item[2]).doubleValue();
+        }
+        out.write(header + ",total_score,course_max\r\n");
+
+        String[] cells = new String[items.size()];
+        try (Stream<Object[]> rows = gradebookEntryRepository.streamByCourseId(courseId)) {
+            Object[] current = null;
+            double total = 0;
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                Object[] row = it.next();
+                if (current != null && !current[0].equals(row[0])) {
+                    writeCsvRow(out, current, cells, total, totalMax);
+                    total = 0;
+                }
+                if (current == null || !current[0].equals(row[0])) {
+                    current = row;
+                    Arrays.fill(cells, "");
+                }
+                float score = ((Number) row[5]).floatValue();
+                cells[columns.get(row[3] + ":" + row[4])] = Float.toString(score);
+                total += score;
+            }
+            if (current != null) {
+                writeCsvRow(out, current, cells, total, totalMax);
+            }
+        }
+        out.flush();
+    }
+
+    @Transactional
+    public void rebuild(int courseId, HttpServletRequest request) {
+        checkInstructor(courseId, request);
+        jdbcTemplate.update("DELETE FROM gradebook_entry WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM gradebook_total WHERE course_id = ?", courseId);
+        jdbcTemplate.update("INSERT INTO gradebook_entry (course_id, student_id, item_type, item_id, score, max_score, updated_at) " +
+                "SELECT q.course_id, g.student_id, ?, q.quiz_id, MAX(g.grade), " + QUIZ_MAX_SCORE_SQL + ", NOW() " +
+                "FROM grading g JOIN quiz q ON q.quiz_id = g.quiz_id WHERE q.course_id = ? " +
+                "GROUP BY q.course_id, g.student_id, q.quiz_id, q.adaptive, q.question_count", QUIZ, courseId);
+        jdbcTemplate.update("INSERT INTO gradebook_entry (course_id, student_id, item_type, item_id, score, max_score, updated_at) " +
+                "SELECT a.course_id, s.student_id, ?, a.assignment_id, MAX(s.grade), ?, NOW() " +
+                "FROM submission s JOIN assignment a ON a.assignment_id = s.assignment_id " +
+                "WHERE a.course_id = ? AND s.grade IS NOT NULL GROUP BY a.course_id, s.student_id, a.assignment_id",
+                ASSIGNMENT, assignmentMaxScore, courseId);
+        jdbcTemplate.update("INSERT INTO gradebook_total (course_id, student_id, total_score, total_max, graded_items, updated_at) " +
+                "SELECT course_id, student_id, SUM(score), COALESCE(SUM(max_score), 0), COUNT(*), NOW() " +
+                "FROM gradebook_entry WHERE course_id = ? GROUP BY course_id, student_id", courseId);
+    }
+
+    private void checkInstructor(int courseId, HttpServletRequest request) {
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (loggedInInstructor == null) {
+            throw new IllegalArgumentException("No logged in user is found.");
+        }
+        if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3) {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("No course found with the given ID: " + courseId);
+        }
+        if (!courseRepository.findByInstructorId(loggedInInstructor.getUserId(), courseId)) {
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this course gradebook.");
+        }
+    }
+
+    private static void writeCsvRow(Writer out, Object[] student, String[] cells, double total, double totalMax) throws IOException {
+        out.write(student[0] + "," + Csv.field((String) student[1]) + "," + Csv.field((String) student[2]));
+        for (String cell : cells) {
+            out.write(',');
+            out.write(cell);
+        }
+        out.write("," + total + "," + totalMax + "\r\n");
+    }
+}
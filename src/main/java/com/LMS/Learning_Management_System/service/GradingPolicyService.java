@@ -0,0 +1,338 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.dto.FinalGradeDto;
+import com.LMS.Learning_Management_System.dto.GradingPolicyDto;
+import com.LMS.Learning_Management_System.dto.PageDto;
+import com.LMS.Learning_Management_System.entity.GradingPolicy;
+import com.LMS.Learning_Management_System.entity.Users;
+import com.LMS.Learning_Management_System.repository.CourseRepository;
+import com.LMS.Learning_Management_System.repository.FinalGradeRepository;
+import com.LMS.Learning_Management_System.repository.GradingPolicyRepository;
+import com.LMS.Learning_Management_System.util.ReportSort;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Final course grades under a per-course {@link GradingPolicy}.
+ * <p>
+ * A recompute loads the course once into flat float matrices (students x quizzes and
+ * students x assignments, as score ratios in [0, 1], plus days late per assignment), compiles
+ * the policy into plain fields, and evaluates every student in parallel with a fork/join split
+ * over student ranges. Results are upserted with JDBC batches. Items a student never
+ * completed count as zero.
+ */
+@Service
+public class GradingPolicyService {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int WRITE_BATCH_SIZE = 1000;
+    private static final Map<String, String> FINAL_GRADE_SORTS = Map.of(
+            "student_id", "student.userAccountId",
+            "first_name", "student.firstName",
+            "last_name", "student.lastName",
+            "final_score", "finalScore");
+
+    private final GradingPolicyRepository gradingPolicyRepository;
+    private final FinalGradeRepository finalGradeRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final float assignmentMaxScore;
+
+    public GradingPolicyService(GradingPolicyRepository gradingPolicyRepository, FinalGradeRepository finalGradeRepository,
+                                CourseRepository courseRepository, JdbcTemplate jdbcTemplate,
+                                @Value("${lms.gradebook.assignment-max-score:100}") float assignmentMaxScore) {
+        this.gradingPolicyRepository = gradingPolicyRepository;
+        this.finalGradeRepository = finalGradeRepository;
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.assignmentMaxScore = assignmentMaxScore;
+    }
+
+    public GradingPolicyDto getPolicy(int courseId, HttpServletRequest request) {
+        checkInstructor(courseId, request);
+        GradingPolicy policy = gradingPolicyRepository.findById(courseId).orElseGet(() -> defaultPolicy(courseId));
+        return new GradingPolicyDto(policy.getQuizWeight(), policy.getAssignmentWeight(), policy.getQuizDropLowest(),
+                policy.getAssignmentDropLowest(), policy.getLatePenaltyPerDay(), policy.getMaxLatePenalty());
+    }
+
+    // saves the policy and recomputes every final grade of the course; returns the number of students graded
+    @Transactional
+    public int updatePolicy(int courseId, GradingPolicyDto policyDto, HttpServletRequest request) {
+        checkInstructor(courseId, request);
+        if (policyDto.getQuiz_weight() < 0 || policyDto.getAssignment_weight() < 0
+                || policyDto.getQuiz_weight() + policyDto.getAssignment_weight() <= 0) {
+            throw new IllegalArgumentException("Weights must be non-negative and not both zero.");
+        }
+        if (policyDto.getQuiz_drop_lowest() < 0 || policyDto.getAssignment_drop_lowest() < 0) {
+            throw new IllegalArgumentException("Drop-lowest counts cannot be negative.");
+        }
+        if (policyDto.getLate_penalty_per_day() < 0 || policyDto.getLate_penalty_per_day() > 1
+                || policyDto.getMax_late_penalty() < 0 || policyDto.getMax_late_penalty() > 1) {
+            throw new IllegalArgumentException("Late penalties must be fractions between 0 and 1.");
+        }
+        GradingPolicy policy = gradingPolicyRepository.findById(courseId).orElseGet(() -> defaultPolicy(courseId));
+        policy.setQuizWeight(policyDto.getQuiz_weight());
+        policy.setAssignmentWeight(policyDto.getAssignment_weight());
+        policy.setQuizDropLowest(policyDto.getQuiz_drop_lowest());
+        policy.setAssignmentDropLowest(policyDto.getAssignment_drop_lowest());
+        policy.setLatePenaltyPerDay(policyDto.getLate_penalty_per_day());
+        policy.setMaxLatePenalty(policyDto.getMax_late_penalty());
+        policy.setUpdatedAt(new Date());
+        gradingPolicyRepository.save(policy);
+        return recomputeFinalGrades(policy);
+    }
+
+    @Transactional
+    public int recompute(int courseId, HttpServletRequest request) {
+        checkInstructor(courseId, request);
+        return recomputeFinalGrades(gradingPolicyRepository.findById(courseId).orElseGet(() -> defaultPolicy(courseId)));
+    }
+
+    public PageDto<FinalGradeDto> getFinalGrades(int courseId, int page, int size, String sort, String direction,
+                                                 HttpServletRequest request) {
+        checkInstructor(courseId, request);
+        Pageable pageable = ReportSort.pageable(page, size, sort, direction, FINAL_GRADE_SORTS, "student.userAccountId");
+        return new PageDto<>(finalGradeRepository.findFinalGradePage(courseId, pageable));
+    }
+
+    private int recomputeFinalGrades(GradingPolicy policy) {
+        int courseId = policy.getCourseId();
+        CourseScores scores = loadScores(courseId);
+        CompiledPolicy compiled = new CompiledPolicy(policy, scores.quizCount, scores.assignmentCount);
+        double[] results = new double[scores.students.length];
+        ForkJoinPool.commonPool().invoke(new EvaluateStudents(compiled, scores, results, 0, scores.students.length));
+
+        int[] students = scores.students;
+        for (int from = 0; from < students.length; from += WRITE_BATCH_SIZE) {
+            int start = from;
+            int size = Math.min(WRITE_BATCH_SIZE, students.length - from);
+            jdbcTemplate.batchUpdate("INSERT INTO final_grade (course_id, student_id, final_score, computed_at) VALUES (?, ?, ?, NOW()) " +
+                            "ON DUPLICATE KEY UPDATE final_score = VALUES(final_score), computed_at = VALUES(computed_at)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            statement.setInt(1, courseId);
+                            statement.setInt(2, students[start + i]);
+                            statement.setDouble(3, results[start + i]);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+        }
+        return students.length;
+    }
+
+    // reads enrollments, items and scores with row callbacks straight into primitive arrays
+    private CourseScores loadScores(int courseId) {
+        int[] students = jdbcTemplate.queryForList("SELECT student_id FROM enrollment WHERE course_id = ? ORDER BY student_id",
+                Integer.class, courseId).stream().mapToInt(Integer::intValue).distinct().toArray();
+        Map<Integer, Integer> studentIndex = indexOf(students);
+
+        List<Map<String, Object>> quizzes = jdbcTemplate.queryForList("SELECT q.quiz_id, " + GradebookService.QUIZ_MAX_SCORE_SQL +
+                " AS max_score FROM quiz q WHERE q.course_id = ? ORDER BY q.quiz_id", courseId);
+        int[] quizIds = new int[quizzes.size()];
+        float[] quizMax = new float[quizzes.size()];
+        for (int i = 0; i < quizzes.size(); i++) {
+            quizIds[i] = ((Number) quizzes.get(i).get("quiz_id")).intValue();
+            Number max = (Number) quizzes.get(i).get("max_score");
+            quizMax[i] = max == null ? 0 : max.floatValue();
+        }
+        Map<Integer, Integer> quizIndex = indexOf(quizIds);
+
+        int[] assignmentIds = jdbcTemplate.queryForList("SELECT assignment_id FROM assignment WHERE course_id = ? ORDER BY assignment_id",
+                Integer.class, courseId).stream().mapToInt(Integer::intValue).toArray();
+        Map<Integer, Integer> assignmentIndex = indexOf(assignmentIds);
+
+        CourseScores scores = new CourseScores(students, quizIds.length, assignmentIds.length);
+        jdbcTemplate.query("SELECT g.student_id, g.quiz_id, g.grade FROM grading g JOIN quiz q ON q.quiz_id = g.quiz_id " +
+                "WHERE q.course_id = ?", resultSet -> {
+            Integer s = studentIndex.get(resultSet.getInt(1));
+            Integer q = quizIndex.get(resultSet.getInt(2));
+            if (s == null || q == null || quizMax[q] <= 0) {
+                return;
+            }
+            int cell = s * scores.quizCount + q;
+            scores.quizRatios[cell] = Math.max(scores.quizRatios[cell], Math.min(1f, resultSet.getInt(3) / quizMax[q]));
+        }, courseId);
+        jdbcTemplate.query("SELECT s.student_id, s.assignment_id, s.grade, s.submitted_at, a.due_date FROM submission s " +
+                "JOIN assignment a ON a.assignment_id = s.assignment_id WHERE a.course_id = ? AND s.grade IS NOT NULL", resultSet -> {
+            Integer s = studentIndex.get(resultSet.getInt(1));
+            Integer a = assignmentIndex.get(resultSet.getInt(2));
+            if (s == null || a == null) {
+                return;
+            }
+            int cell = s * scores.assignmentCount + a;
+            scores.assignmentRatios[cell] = Math.min(1f, resultSet.getFloat(3) / assignmentMaxScore);
+            Timestamp submittedAt = resultSet.getTimestamp(4);
+            Timestamp dueDate = resultSet.getTimestamp(5);
+            if (submittedAt != null && dueDate != null && submittedAt.after(dueDate)) {
+                // every started day counts
+                scores.assignmentDaysLate[cell] = (short) Math.min(Short.MAX_VALUE,
+                        (submittedAt.getTime() - dueDate.getTime() + DAY_MILLIS - 1) / DAY_MILLIS);
+            }
+        }, courseId);
+        return scores;
+    }
+
+    private static Map<Integer, Integer> indexOf(int[] ids) {
+        Map<Integer, Integer> index = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            index.put(ids[i], i);
+        }
+        return index;
+    }
+
+    private GradingPolicy defaultPolicy(int courseId) {
+        GradingPolicy policy = new GradingPolicy();
+        policy.setCourseId(courseId);
+        policy.setQuizWeight(0.5f);
+        policy.setAssignmentWeight(0.5f);
+        return policy;
+    }
+
+    private void checkInstructor(int courseId, HttpServletRequest request) {
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (loggedInInstructor == null) {
+            throw new IllegalArgumentException("No logged in user is found.");
+        }
+        if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3) {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("No course found with the given ID: " + courseId);
+        }
+        if (!courseRepository.findByInstructorId(loggedInInstructor.getUserId(), courseId)) {
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this course grading policy.");
+        }
+    }
+
+    // row-major student x item matrices
+    static final class CourseScores {
+        final int[] students;
+        final int quizCount;
+        final int assignmentCount;
+        final float[] quizRatios;
+        final float[] assignmentRatios;
+        final short[] assignmentDaysLate;
+
+        CourseScores(int[] students, int quizCount, int assignmentCount) {
+            this.students = students;
+            this.quizCount = quizCount;
+            this.assignmentCount = assignmentCount;
+            this.quizRatios = new float[students.length * quizCount];
+            this.assignmentRatios = new float[students.length * assignmentCount];
+            this.assignmentDaysLate = new short[students.length * assignmentCount];
+        }
+    }
+
+    // the policy reduced to what evaluation needs; categories without items drop out of the weighting
+    static final class CompiledPolicy {
+        private final float quizWeight;
+        private final float assignmentWeight;
+        private final int quizKeep;
+        private final int assignmentKeep;
+        private final float[] latePenalty;
+
+        CompiledPolicy(GradingPolicy policy, int quizCount, int assignmentCount) {
+            this.quizKeep = Math.max(0, quizCount - policy.getQuizDropLowest());
+            this.assignmentKeep = Math.max(0, assignmentCount - policy.getAssignmentDropLowest());
+            float quiz = quizKeep > 0 ? policy.getQuizWeight() : 0;
+            float assignment = assignmentKeep > 0 ? policy.getAssignmentWeight() : 0;
+            float total = quiz + assignment;
+            this.quizWeight = total > 0 ? quiz / total : 0;
+            this.assignmentWeight = total > 0 ? assignment / total : 0;
+            // multiplier by days late, precomputed until the cap is reached
+            int capDays = policy.getLatePenaltyPerDay() > 0
+                    ? (int) Math.min(366, Math.ceil(policy.getMaxLatePenalty() / policy.getLatePenaltyPerDay()))
+                    : 0;
+            this.latePenalty = new float[capDays + 1];
+            for (int day = 0; day <= capDays; day++) {
+                latePenalty[day] = 1f - Math.min(policy.getMaxLatePenalty(), day * policy.getLatePenaltyPerDay());
+            }
+        }
+
+        // percent in [0, 100]; scratch must hold max(quizCount, assignmentCount) floats
+        double evaluate(CourseScores scores, int student, float[] scratch) {
+            double result = 0;
+            if (quizWeight > 0) {
+                System.arraycopy(scores.quizRatios, student * scores.quizCount, scratch, 0, scores.quizCount);
+                result += quizWeight * meanOfHighest(scratch, scores.quizCount, quizKeep);
+            }
+            if (assignmentWeight > 0) {
+                int base = student * scores.assignmentCount;
+                for (int i = 0; i < scores.assignmentCount; i++) {
+                    int daysLate = scores.assignmentDaysLate[base + i];
+                    scratch[i] = scores.assignmentRatios[base + i] * latePenalty[Math.min(daysLate, latePenalty.length - 1)];
+                }
+                result += assignmentWeight * meanOfHighest(scratch, scores.assignmentCount, assignmentKeep);
+            }
+            return result * 100;
+        }
+
+        private static double meanOfHighest(float[] values, int count, int keep) {
+            if (keep <= 0) {
+                return 0;
+            }
+            if (keep < count) {
+                Arrays.sort(values, 0, count);
+            }
+            double sum = 0;
+            for (int i = count - keep; i < count; i++) {
+                sum += values[i];
+            }
+            return sum / keep;
+        }
+    }
+
+    private static final class EvaluateStudents extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 512;
+
+        private final CompiledPolicy policy;
+        private final CourseScores scores;
+        private final double[] results;
+        private final int from;
+        private final int to;
+
+        EvaluateStudents(CompiledPolicy policy, CourseScores scores, double[] results, int from, int to) {
+            this.policy = policy;
+            this.scores = scores;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                float[] scratch = new float[Math.max(scores.quizCount, scores.assignmentCount)];
+                for (int student = from; student < to; student++) {
+                    results[student] = policy.evaluate(scores, student, scratch);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateStudents(policy, scores, results, from, middle),
+                    new EvaluateStudents(policy, scores, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.util.MappedContentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/**
+ * Optional off-heap cache of lesson bodies as UTF-8, tagged with the lesson's course id so
+ * access can be checked without touching the lesson row. Disabled unless
+ * {@code lms.lessons.offheap-cache.enabled} is set, in which case every call is a no-op miss.
+ */
+@Service
+public class LessonBodyCache {
+
+    private final MappedContentStore store;
+
+    public LessonBodyCache(@Value("${lms.lessons.offheap-cache.enabled:false}") boolean enabled,
+                           @Value("${lms.lessons.offheap-cache.dir:cache/lessons}") String directory,
+                           @Value("${lms.lessons.offheap-cache.max-bytes:1073741824}") long maxBytes,
+                           @Value("${lms.lessons.offheap-cache.segment-bytes:67108864}") int segmentBytes) throws IOException {
+        this.store = enabled ? new MappedContentStore(Paths.get(directory), segmentBytes, maxBytes) : null;
+    }
+
+    public MappedContentStore.Entry get(int lessonId) {
+        return store == null ? null : store.get(lessonId);
+    }
+
+    // ignored when a newer version of the lesson is already cached or the lesson was evicted
+    public void put(int lessonId, int courseId, long version, String content) {
+        if (store != null) {
+            store.put(lessonId, courseId, version, (content == null ? "" : content).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // for deleted lessons: ids are never reused, so no later put for the lesson is accepted
+    public void evict(int lessonId) {
+        if (store != null) {
+            store.remove(lessonId, Long.MAX_VALUE);
+        }
+    }
+}
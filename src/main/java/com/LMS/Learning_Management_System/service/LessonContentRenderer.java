@@ -0,0 +1,100 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.util.MarkdownRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server-side rendered lesson content.
+ * <p>
+ * Lessons are rendered from Markdown to sanitized HTML when they are written and the result is
+ * stored with the lesson; reads are served from a size-bounded LRU of hot lessons, measured in
+ * characters rather than entries, so a few very long lessons cannot crowd out the heap.
+ */
+@Service
+public class LessonContentRenderer {
+
+    private final long maxCachedChars;
+    // guarded by this
+    private final LinkedHashMap<Integer, Rendered> cache = new LinkedHashMap<>(256, 0.75f, true);
+    // evicted lessons, so a read that loaded one before it was deleted cannot cache it again
+    private final Set<Integer> evicted = new HashSet<>();
+    private long cachedChars;
+
+    public LessonContentRenderer(@Value("${lms.lessons.html-cache-chars:16777216}") long maxCachedChars) {
+        this.maxCachedChars = maxCachedChars;
+    }
+
+    public String render(String content) {
+        return MarkdownRenderer.toHtml(content);
+    }
+
+    public synchronized Rendered get(int lessonId) {
+        return cache.get(lessonId);
+    }
+
+    // ignored when a newer version of the lesson is already cached or the lesson was evicted
+    public synchronized void put(int lessonId, int courseId, long version, String html) {
+        if (evicted.contains(lessonId)) {
+            return;
+        }
+        Rendered previous = cache.get(lessonId);
+        if (previous != null && previous.version > version) {
+            return;
+        }
+        if (previous != null) {
+            cache.remove(lessonId);
+            cachedChars -= previous.html.length();
+        }
+        if (html.length() > maxCachedChars / 4) {
+            // too large to be worth displacing others
+            return;
+        }
+        cache.put(lessonId, new Rendered(courseId, version, html));
+        cachedChars += html.length();
+        Iterator<Map.Entry<Integer, Rendered>> eldest = cache.entrySet().iterator();
+        while (cachedChars > maxCachedChars && eldest.hasNext()) {
+            cachedChars -= eldest.next().getValue().html.length();
+            eldest.remove();
+        }
+    }
+
+    // for deleted lessons: ids are never reused, so no later put for the lesson is accepted
+    public synchronized void evict(int lessonId) {
+        evicted.add(lessonId);
+        Rendered previous = cache.remove(lessonId);
+        if (previous != null) {
+            cachedChars -= previous.html.length();
+        }
+    }
+
+    public static final class Rendered {
+        private final int courseId;
+        private final long version;
+        private final String html;
+
+        public Rendered(int courseId, long version, String html) {
+            this.courseId = courseId;
+            this.version = version;
+            this.html = html;
+        }
+
+        public int getCourseId() {
+            return courseId;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+    }
+}
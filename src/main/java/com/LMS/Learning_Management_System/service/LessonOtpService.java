@@ -0,0 +1,154 @@
+package com.LMS.Learning_Management_System.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rotating lesson check-in codes (TOTP, RFC 6238, with HMAC-SHA256 and six digits).
+ * <p>
+ * Each lesson's secret is derived from the server key and the course and lesson ids, and
+ * cached, so verifying a code is a few HMACs with no database read. The previous and next
+ * step are accepted too, to allow for clock skew and a code read out just before it rotates;
+ * all candidates are always computed and compared in constant time. Wrong guesses are counted
+ * per student and lesson in fixed windows, and a student over the limit is turned away before
+ * any other work is done.
+ * <p>
+ * The server key ({@code lms.attendance.otp-key}) is required: without it every process would
+ * issue its own codes, which stop verifying after a restart and differ between instances. Only
+ * the {@code dev} profile falls back to a random key for the run.
+ */
+@Service
+public class LessonOtpService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonOtpService.class);
+    private static final String HMAC = "HmacSHA256";
+    static final long STEP_SECONDS = 30;
+    private static final int DIGITS = 6;
+    private static final int MODULUS = 1_000_000;
+    private static final int MAX_FAILURES = 5;
+    private static final long FAILURE_WINDOW_MILLIS = 5 * 60 * 1000;
+
+    private final SecretKeySpec serverKey;
+    private final Map<Long, SecretKeySpec> lessonKeys = new ConcurrentHashMap<>();
+    // window index in the high bits, unresolved attempts in the low 16 bits
+    private final Map<Long, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC + " is not available", e);
+        }
+    });
+
+    public LessonOtpService(@Value("${lms.attendance.otp-key:}") String otpKey, Environment environment) {
+        byte[] key;
+        if (otpKey == null || otpKey.isBlank()) {
+            if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+                throw new IllegalStateException("lms.attendance.otp-key must be set; only the dev profile may run without it");
+            }
+            logger.warn("lms.attendance.otp-key is not set; using a random key for this dev run");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = otpKey.getBytes(StandardCharsets.UTF_8);
+        }
+        this.serverKey = new SecretKeySpec(key, HMAC);
+    }
+
+    public String currentCode(int courseId, int lessonId) {
+        return format(code(lessonKey(courseId, lessonId), System.currentTimeMillis() / 1000 / STEP_SECONDS));
+    }
+
+    public long secondsUntilRotation() {
+        return STEP_SECONDS - (System.currentTimeMillis() / 1000) % STEP_SECONDS;
+    }
+
+    // throws when the student has guessed wrong too often; returns whether the code is valid
+    public boolean verify(int courseId, int lessonId, int studentId, String otp) {
+        long now = System.currentTimeMillis();
+        long attemptKey = ((long) lessonId << 32) | (studentId & 0xffffffffL);
+        long window = now / FAILURE_WINDOW_MILLIS;
+        // the attempt is reserved before checking, so a burst of parallel guesses cannot all slip under the limit
+        AtomicLong counter = failures.computeIfAbsent(attemptKey, k -> new AtomicLong());
+        while (true) {
+            long state = counter.get();
+            long attempts = (state >>> 16) == window ? state & 0xffff : 0;
+            if (attempts >= MAX_FAILURES) {
+                throw new IllegalArgumentException("Too many wrong OTP attempts, try again in a few minutes.");
+            }
+            if (counter.compareAndSet(state, (window << 16) | (attempts + 1))) {
+                break;
+            }
+        }
+
+        byte[] given = (otp == null ? "" : otp).getBytes(StandardCharsets.UTF_8);
+        SecretKeySpec key = lessonKey(courseId, lessonId);
+        long step = now / 1000 / STEP_SECONDS;
+        boolean valid = false;
+        for (long candidate = step - 1; candidate <= step + 1; candidate++) {
+            valid |= MessageDigest.isEqual(format(code(key, candidate)).getBytes(StandardCharsets.UTF_8), given);
+        }
+
+        if (valid) {
+            failures.remove(attemptKey);
+        }
+        return valid;
+    }
+
+    @Scheduled(fixedDelay = FAILURE_WINDOW_MILLIS, initialDelay = FAILURE_WINDOW_MILLIS)
+    public void evictExpiredCounters() {
+        long window = System.currentTimeMillis() / FAILURE_WINDOW_MILLIS;
+        failures.values().removeIf(counter -> (counter.get() >>> 16) < window);
+    }
+
+    private SecretKeySpec lessonKey(int courseId, int lessonId) {
+        return lessonKeys.computeIfAbsent(((long) courseId << 32) | (lessonId & 0xffffffffL), id -> {
+            Mac mac = mac(serverKey);
+            return new SecretKeySpec(mac.doFinal(("lesson-otp:" + courseId + ":" + lessonId).getBytes(StandardCharsets.UTF_8)), HMAC);
+        });
+    }
+
+    // RFC 4226 dynamic truncation
+    private int code(SecretKeySpec key, long step) {
+        byte[] counter = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            counter[i] = (byte) step;
+            step >>>= 8;
+        }
+        byte[] hash = mac(key).doFinal(counter);
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = ((hash[offset] & 0x7f) << 24) | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8) | (hash[offset + 3] & 0xff);
+        return binary % MODULUS;
+    }
+
+    private Mac mac(SecretKeySpec key) {
+        Mac mac = macs.get();
+        try {
+            mac.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid OTP key", e);
+        }
+        return mac;
+    }
+
+    private static String format(int code) {
+        String digits = Integer.toString(code);
+        return "0".repeat(DIGITS - digits.length()) + digits;
+    }
+}
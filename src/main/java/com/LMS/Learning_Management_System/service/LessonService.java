@@ -1,33 +1,72 @@
 package com.LMS.Learning_Management_System.service;
+import com.LMS.Learning_Management_System.dto.AttendanceReportDto;
 import com.LMS.Learning_Management_System.dto.LessonDto;
+import com.LMS.Learning_Management_System.dto.LessonOtpDto;
+import com.LMS.Learning_Management_System.dto.LessonSummaryDto;
+import com.LMS.Learning_Management_System.dto.LessonTurnoutDto;
+import com.LMS.Learning_Management_System.dto.PageDto;
+import com.LMS.Learning_Management_System.dto.StudentAttendanceDto;
 import com.LMS.Learning_Management_System.entity.*;
 import com.LMS.Learning_Management_System.repository.*;
+import com.LMS.Learning_Management_System.util.MappedContentStore;
+import com.LMS.Learning_Management_System.util.ReportSort;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class LessonService {
+    // spacing between lesson order keys, so a single move can usually take the midpoint of its neighbours
+    static final int LESSON_ORDER_GAP = 1024;
+    private static final Map<String, String> ATTENDANCE_REPORT_SORTS = Map.of(
+            "student_id", "studentId.userAccountId",
+            "first_name", "studentId.firstName",
+            "last_name", "studentId.lastName");
+
     private final LessonRepository lessonRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final LessonAttendanceRepository lessonAttendanceRepository;
     private final StudentRepository studentRepository;
+    private final AttendanceIngestionService attendanceIngestionService;
+    private final LessonOtpService lessonOtpService;
+    private final AttendanceMatrixService attendanceMatrixService;
+    private final LessonContentRenderer lessonContentRenderer;
+    private final LessonBodyCache lessonBodyCache;
+    private final JdbcTemplate jdbcTemplate;
 
-    public LessonService(LessonRepository lessonRepository, CourseRepository courseRepository, EnrollmentRepository enrollmentRepository, LessonAttendanceRepository lessonAttendanceRepository, StudentRepository studentRepository) {
+    public LessonService(LessonRepository lessonRepository, CourseRepository courseRepository, EnrollmentRepository enrollmentRepository, LessonAttendanceRepository lessonAttendanceRepository, StudentRepository studentRepository, AttendanceIngestionService attendanceIngestionService, LessonOtpService lessonOtpService, AttendanceMatrixService attendanceMatrixService, LessonContentRenderer lessonContentRenderer, LessonBodyCache lessonBodyCache, JdbcTemplate jdbcTemplate) {
         this.lessonRepository = lessonRepository;
         this.courseRepository = courseRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.lessonAttendanceRepository = lessonAttendanceRepository;
         this.studentRepository = studentRepository;
+        this.attendanceIngestionService = attendanceIngestionService;
+        this.lessonOtpService = lessonOtpService;
+        this.attendanceMatrixService = attendanceMatrixService;
+        this.lessonContentRenderer = lessonContentRenderer;
+        this.lessonBodyCache = lessonBodyCache;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    @Transactional
     public void addLesson(Lesson lesson, HttpServletRequest request) {
         // auth
         Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
@@ -46,19 +85,21 @@ public class LessonService {
         }
 
 
-        if (lesson.getOTP() == null || lesson.getOTP().isEmpty()) {
-            throw new IllegalArgumentException("OTP value cannot be null");
-        }
         lesson.setCreationTime(new Date(System.currentTimeMillis()));
         if (lesson.getCourseId() == null || lesson.getCourseId().getCourseId() == 0) {
             throw new IllegalArgumentException("CourseId cannot be null");
         }
 
         lesson.setCourseId(course);
-        lessonRepository.save(lesson);
+        // new lessons go last; the order is only changed through moveLesson and reorderLessons
+        lesson.setLessonOrder(nextLessonOrder(course.getCourseId()));
+        lesson.setContentHtml(lessonContentRenderer.render(lesson.getContent()));
+        Lesson saved = lessonRepository.save(lesson);
+        lessonContentRenderer.put(saved.getLessonId(), course.getCourseId(), saved.getVersion(), saved.getContentHtml());
+        attendanceMatrixService.lessonAdded(course.getCourseId(), saved.getLessonId());
     }
 
-    public List<LessonDto> getLessonsByCourseId(int courseId, HttpServletRequest request) {
+    public List<LessonSummaryDto> getLessonsByCourseId(int courseId, HttpServletRequest request) {
 
         Course course = courseRepository.findById(courseId).orElseThrow(() -> new IllegalArgumentException("No such CourseId"));
         Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
@@ -77,8 +118,44 @@ public class LessonService {
 //        if (course.getInstructorId().getUserAccountId() != loggedInInstructor.getUserId()) {
 //            throw new IllegalArgumentException("You are not the Instructor of this course");
 //        }
-        List<Lesson> lessons = lessonRepository.findByCourseId(course);
-        return convertToCoueDtoList(lessons, courseId);
+        return lessonRepository.findSummariesByCourseId(course.getCourseId());
+    }
+
+    // a single lesson body, loaded on its own so the outline stays small; hot bodies come from the off-heap cache
+    public void writeLessonContent(int lessonId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Users loggedInUser = (Users) request.getSession().getAttribute("user");
+        if (loggedInUser == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        int courseId;
+        ByteBuffer body;
+        MappedContentStore.Entry cached = lessonBodyCache.get(lessonId);
+        if (cached != null) {
+            courseId = cached.getTag();
+            body = cached.getBody();
+        } else {
+            List<Object[]> rows = lessonRepository.findContentByLessonId(lessonId);
+            if (rows.isEmpty()) {
+                throw new IllegalArgumentException("No such LessonId: " + lessonId);
+            }
+            courseId = ((Number) rows.get(0)[0]).intValue();
+            String content = (String) rows.get(0)[1];
+            lessonBodyCache.put(lessonId, courseId, ((Number) rows.get(0)[2]).longValue(), content);
+            body = ByteBuffer.wrap((content == null ? "" : content).getBytes(StandardCharsets.UTF_8));
+        }
+        if (loggedInUser.getUserTypeId().getUserTypeId() == 2) {
+            boolean enrolled = enrollmentRepository.existsByStudentAndCourse(
+                    studentRepository.getReferenceById(loggedInUser.getUserId()), courseRepository.getReferenceById(courseId));
+            if (!enrolled)
+                throw new IllegalArgumentException("You are not enrolled this course.");
+        }
+        response.setContentType("text/plain;charset=UTF-8");
+        response.setContentLength(body.remaining());
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        while (body.hasRemaining()) {
+            out.write(body);
+        }
+        response.flushBuffer();
     }
 
     public LessonDto getLessonById(int lessonId, HttpServletRequest request) {
@@ -120,10 +197,115 @@ public class LessonService {
                 .orElseThrow(() -> new IllegalArgumentException("Lesson not found with ID: " + lessonId));
         existingLesson.setLessonName(updatedLesson.getLessonName());
         existingLesson.setLessonDescription(updatedLesson.getLessonDescription());
-        existingLesson.setLessonOrder(updatedLesson.getLessonOrder());
         existingLesson.setContent(updatedLesson.getContent());
+        existingLesson.setContentHtml(lessonContentRenderer.render(updatedLesson.getContent()));
         existingLesson.setOTP(updatedLesson.getOTP());
-        lessonRepository.save(existingLesson);
+        // the saved copy carries the bumped version
+        Lesson saved;
+        try {
+            saved = lessonRepository.save(existingLesson);
+        } catch (OptimisticLockingFailureException e) {
+            throw new IllegalArgumentException("Lesson " + lessonId + " was changed by another update, reload it and try again.");
+        }
+        int courseId = saved.getCourseId().getCourseId();
+        lessonContentRenderer.put(lessonId, courseId, saved.getVersion(), saved.getContentHtml());
+        lessonBodyCache.put(lessonId, courseId, saved.getVersion(), saved.getContent());
+    }
+
+    // sets the whole outline order at once; lessonIds must list every lesson of the course exactly once
+    @Transactional
+    public void reorderLessons(int courseId, List<Integer> lessonIds, HttpServletRequest request) {
+        check_course_before_logic(courseId, request);
+        if (lessonIds == null || lessonIds.isEmpty()) {
+            throw new IllegalArgumentException("Lesson order cannot be empty.");
+        }
+        Set<Integer> existing = new HashSet<>();
+        for (Object[] row : lessonRepository.findOrderByCourseId(courseId)) {
+            existing.add(((Number) row[0]).intValue());
+        }
+        Set<Integer> seen = new HashSet<>();
+        for (Integer lessonId : lessonIds) {
+            if (lessonId == null || !existing.contains(lessonId)) {
+                throw new IllegalArgumentException("Lesson " + lessonId + " does not belong to course " + courseId);
+            }
+            if (!seen.add(lessonId)) {
+                throw new IllegalArgumentException("Lesson " + lessonId + " is listed more than once.");
+            }
+        }
+        if (seen.size() != existing.size()) {
+            throw new IllegalArgumentException("All " + existing.size() + " lessons of the course must be listed.");
+        }
+        writeOrder(courseId, lessonIds);
+    }
+
+    // moves one lesson after another (or first when afterLessonId is null); normally updates a single row
+    @Transactional
+    public void moveLesson(int lessonId, Integer afterLessonId, HttpServletRequest request) {
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new IllegalArgumentException("Lesson not found with ID: " + lessonId));
+        int courseId = lesson.getCourseId().getCourseId();
+        check_course_before_logic(courseId, request);
+        if (afterLessonId != null && afterLessonId == lessonId) {
+            throw new IllegalArgumentException("A lesson cannot be moved after itself.");
+        }
+
+        List<int[]> outline = new ArrayList<>();
+        for (Object[] row : lessonRepository.findOrderByCourseId(courseId)) {
+            int id = ((Number) row[0]).intValue();
+            if (id != lessonId) {
+                outline.add(new int[]{id, ((Number) row[1]).intValue()});
+            }
+        }
+        int position = 0;
+        if (afterLessonId != null) {
+            while (position < outline.size() && outline.get(position)[0] != afterLessonId) {
+                position++;
+            }
+            if (position == outline.size()) {
+                throw new IllegalArgumentException("Lesson " + afterLessonId + " does not belong to course " + courseId);
+            }
+            position++;
+        }
+
+        long previous = position == 0 ? (outline.isEmpty() ? 0 : (long) outline.get(0)[1] - 2 * LESSON_ORDER_GAP) : outline.get(position - 1)[1];
+        long next = position == outline.size() ? previous + 2 * LESSON_ORDER_GAP : outline.get(position)[1];
+        long middle = previous + (next - previous) / 2;
+        if (next - previous >= 2 && middle > Integer.MIN_VALUE && middle < Integer.MAX_VALUE) {
+            lessonRepository.updateLessonOrder(lessonId, (int) middle);
+            return;
+        }
+        // no room left between the neighbours: spread the whole course out again
+        List<Integer> lessonIds = new ArrayList<>(outline.size() + 1);
+        for (int[] entry : outline) {
+            lessonIds.add(entry[0]);
+        }
+        lessonIds.add(position, lessonId);
+        writeOrder(courseId, lessonIds);
+    }
+
+    private int nextLessonOrder(int courseId) {
+        Integer max = lessonRepository.findMaxLessonOrder(courseId);
+        if (max == null) {
+            return LESSON_ORDER_GAP;
+        }
+        if (max <= Integer.MAX_VALUE - LESSON_ORDER_GAP) {
+            return max + LESSON_ORDER_GAP;
+        }
+        // the keys ran up to the top of the range: spread the course out again first
+        List<Integer> lessonIds = new ArrayList<>();
+        for (Object[] row : lessonRepository.findOrderByCourseId(courseId)) {
+            lessonIds.add(((Number) row[0]).intValue());
+        }
+        writeOrder(courseId, lessonIds);
+        return (lessonIds.size() + 1) * LESSON_ORDER_GAP;
+    }
+
+    private void writeOrder(int courseId, List<Integer> lessonIds) {
+        List<Object[]> updates = new ArrayList<>(lessonIds.size());
+        for (int i = 0; i < lessonIds.size(); i++) {
+            updates.add(new Object[]{(i + 1) * LESSON_ORDER_GAP, lessonIds.get(i), courseId});
+        }
+        jdbcTemplate.batchUpdate("UPDATE lesson SET lesson_order = ? WHERE lesson_id = ? AND course_id = ?", updates);
     }
 
     public void deleteLesson(int lessonId, int courseId, HttpServletRequest request) {
@@ -133,21 +315,9 @@ public class LessonService {
             throw new IllegalArgumentException("You are not the Instructor of this course");
         }
         lessonRepository.deleteById(lessonId);
-    }
-
-    private List<LessonDto> convertToCoueDtoList(List<Lesson> lessons, int courseId) {
-        return lessons.stream()
-                .map(lesson -> new LessonDto(
-                        lesson.getLessonId(),
-                        courseId,
-                        lesson.getLessonName(),
-                        lesson.getLessonDescription(),
-                        lesson.getLessonOrder(),
-                        lesson.getOTP(),
-                        lesson.getContent(),
-                        lesson.getCreationTime()
-                ))
-                .collect(Collectors.toList());
+        lessonContentRenderer.evict(lessonId);
+        lessonBodyCache.evict(lessonId);
+        attendanceMatrixService.lessonRemoved(courseId, lessonId);
     }
 
     private Course check_course_before_logic(int courseId, HttpServletRequest request) {
@@ -176,73 +346,113 @@ public class LessonService {
         {
             throw new IllegalArgumentException("No user is logged in.");
         }
-        Course existingCourse = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("No course found with the given ID: " + courseId));
-
-        List<Enrollment>enrollments = enrollmentRepository.findByCourse(existingCourse);
-        int flag=0;
-        for (Enrollment enrollment : enrollments) {
-            if(enrollment.getStudent().getUserAccountId() == loggedInInstructor.getUserId()){
-                flag = 1;
-            }
+        // repeated check-ins during a burst are answered from memory
+        if (attendanceIngestionService.isCheckedIn(lessonId, loggedInInstructor.getUserId())) {
+            return;
+        }
+        // rotating code checked in memory, before any query
+        if (!lessonOtpService.verify(courseId, lessonId, loggedInInstructor.getUserId(), otp)) {
+            throw new IllegalArgumentException("OTP does not match.");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("No course found with the given ID: " + courseId);
         }
-        if(flag==0)
+        boolean enrolled = enrollmentRepository.existsByStudentAndCourse(
+                studentRepository.getReferenceById(loggedInInstructor.getUserId()), courseRepository.getReferenceById(courseId));
+        if (!enrolled)
             throw new IllegalArgumentException("You are not enrolled to this course.");
 
-        Lesson existingLesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new IllegalArgumentException("Lesson not found with ID: " + lessonId));
-        if (!Objects.equals(existingLesson.getOTP(), otp))
-        {
-            throw new IllegalArgumentException("OTP does not match.");
+        // part for attendance tracking, written behind in batches
+        if (attendanceIngestionService.checkIn(lessonId, loggedInInstructor.getUserId())) {
+            attendanceMatrixService.recordCheckIn(courseId, lessonId, loggedInInstructor.getUserId());
         }
-        // part for attendance tracking
-        Student student = new Student();
-        student.setUserAccountId(loggedInInstructor.getUserId());
-        boolean enteredAlready = lessonAttendanceRepository.existsByLessonIdAndStudentId( existingLesson,student);
-        if(enteredAlready){
-            return;
+    }
+
+    // the rendered lesson body; lessons written before rendering existed are rendered once on first read
+    public String getLessonHtml(int lessonId, HttpServletRequest request) {
+        Users loggedInUser = (Users) request.getSession().getAttribute("user");
+        if (loggedInUser == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        LessonContentRenderer.Rendered rendered = lessonContentRenderer.get(lessonId);
+        if (rendered == null) {
+            List<Object[]> rows = lessonRepository.findRenderedContentByLessonId(lessonId);
+            if (rows.isEmpty()) {
+                throw new IllegalArgumentException("No such LessonId: " + lessonId);
+            }
+            int courseId = ((Number) rows.get(0)[0]).intValue();
+            String html = (String) rows.get(0)[1];
+            long version = ((Number) rows.get(0)[3]).longValue();
+            if (html == null) {
+                html = lessonContentRenderer.render((String) rows.get(0)[2]);
+                lessonRepository.updateContentHtml(lessonId, version, html);
+            }
+            lessonContentRenderer.put(lessonId, courseId, version, html);
+            rendered = new LessonContentRenderer.Rendered(courseId, version, html);
+        }
+        if (loggedInUser.getUserTypeId().getUserTypeId() == 2) {
+            boolean enrolled = enrollmentRepository.existsByStudentAndCourse(
+                    studentRepository.getReferenceById(loggedInUser.getUserId()), courseRepository.getReferenceById(rendered.getCourseId()));
+            if (!enrolled)
+                throw new IllegalArgumentException("You are not enrolled this course.");
         }
-        LessonAttendance lessonAttendance= new LessonAttendance();
-        lessonAttendance.setLessonId(existingLesson);
-        lessonAttendance.setStudentId(student);
-        lessonAttendanceRepository.save(lessonAttendance);
+        return rendered.getHtml();
+    }
 
+    public List<LessonTurnoutDto> lessonTurnout(int courseId, HttpServletRequest request) {
+        check_course_before_logic(courseId, request);
+        return attendanceMatrixService.lessonTurnout(courseId);
+    }
 
+    public List<StudentAttendanceDto> studentAttendanceRates(int courseId, Double below, HttpServletRequest request) {
+        check_course_before_logic(courseId, request);
+        if (below != null && (below <= 0 || below > 1)) {
+            throw new IllegalArgumentException("Threshold must be greater than 0 and at most 1.");
+        }
+        return attendanceMatrixService.studentRates(courseId, below);
     }
 
-    public List <String> lessonAttendance (int lessonId, HttpServletRequest request)
+    // the code students type to check in right now; it rotates every LessonOtpService.STEP_SECONDS
+    public LessonOtpDto currentOtp(int lessonId, HttpServletRequest request) {
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (loggedInInstructor == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3) {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new IllegalArgumentException("Lesson not found with ID: " + lessonId));
+        Course course = lesson.getCourseId();
+        if (course.getInstructorId().getUserAccountId() != loggedInInstructor.getUserId()) {
+            throw new IllegalArgumentException("You are not the Instructor of this course");
+        }
+        return new LessonOtpDto(lessonId, lessonOtpService.currentCode(course.getCourseId(), lessonId),
+                lessonOtpService.secondsUntilRotation());
+    }
+
+    public PageDto<AttendanceReportDto> lessonAttendance(int lessonId, int page, int size, String sort, String direction,
+                                                         HttpServletRequest request)
     {
-        if (lessonRepository.existsById(lessonId))
-        {
-            Lesson lesson = lessonRepository.findById(lessonId).get();
-            List <LessonAttendance> lessonAttendances = lessonAttendanceRepository.findAllByLessonId(lesson);
-            Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
-            int instructorId = lesson.getCourseId().getInstructorId().getUserAccountId();
-
-            if (loggedInInstructor == null)
-            {
-                throw new IllegalArgumentException("No logged in user is found.");
-            }
-            else if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3)
-            {
-                throw new IllegalArgumentException("Logged-in user is not an instructor.");
-            }
-            else if (instructorId != loggedInInstructor.getUserId())
-            {
-                throw new IllegalArgumentException("Logged-in instructor does not have access for this lesson attendances.");
-            }
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new IllegalArgumentException("Lesson with ID " + lessonId + " not found."));
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        int instructorId = lesson.getCourseId().getInstructorId().getUserAccountId();
 
-            List <String> attendances = new ArrayList<>();
-            for (LessonAttendance lessonAttendance : lessonAttendances)
-            {
-                Student student = lessonAttendance.getStudentId();
-                attendances.add(Integer.toString(student.getUserAccountId()));
-            }
-            return attendances;
+        if (loggedInInstructor == null)
+        {
+            throw new IllegalArgumentException("No logged in user is found.");
         }
-        else
+        else if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3)
         {
-            throw new IllegalArgumentException("Lesson with ID " + lessonId + " not found.");
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
         }
+        else if (instructorId != loggedInInstructor.getUserId())
+        {
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this lesson attendances.");
+        }
+
+        Pageable pageable = ReportSort.pageable(page, size, sort, direction, ATTENDANCE_REPORT_SORTS, "studentId.userAccountId");
+        return new PageDto<>(lessonAttendanceRepository.findAttendanceReport(lessonId, pageable));
     }
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+package com.LMS.Learning_Management_System.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resized variants of image media, written next to the original by {@link MediaStore#variantPath}.
+ * <p>
+ * Variants are generated right after an upload on a small bounded pool. If the pool is
+ * saturated the task is dropped and the variant is produced lazily by the first request that
+ * needs it; concurrent requests for the same variant share one future. When a width has no
+ * variant (the original is already narrower, or cannot be decoded) an empty marker file records
+ * that, so the original is not decoded again; it is deleted together with the variants.
+ */
+@Service
+public class MediaRenditionService {
+
+    static final int[] WIDTHS = {160, 480, 960};
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".gif", ".bmp");
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+    private static final long LAZY_WAIT_SECONDS = 15;
+
+    private final MediaStore mediaStore;
+    private final ThreadPoolExecutor executor;
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public MediaRenditionService(MediaStore mediaStore) {
+        this.mediaStore = mediaStore;
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(64), runnable -> {
+            Thread thread = new Thread(runnable, "media-rendition-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // queues every variant of a freshly attached image; anything dropped is made on demand later
+    public void generateAll(String media) {
+        Path original = mediaStore.resolve(media);
+        if (!isImage(original)) {
+            return;
+        }
+        for (int width : WIDTHS) {
+            try {
+                rendition(original, width);
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    // the variant to serve for the requested width, or the original when there is none
+    public Path resolve(Path original, int requestedWidth) {
+        int width = snap(requestedWidth);
+        if (!isImage(original)) {
+            return original;
+        }
+        Path variant = variantPath(original, width);
+        if (Files.isRegularFile(variant)) {
+            return variant;
+        }
+        if (Files.exists(markerPath(original, width))) {
+            return original;
+        }
+        try {
+            Path generated = rendition(original, width).get(LAZY_WAIT_SECONDS, TimeUnit.SECONDS);
+            return generated != null ? generated : original;
+        } catch (RejectedExecutionException | ExecutionException | TimeoutException e) {
+            return original;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return original;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Path> rendition(Path original, int width) {
+        Path variant = variantPath(original, width);
+        CompletableFuture<Path> future = inFlight.computeIfAbsent(variant,
+                key -> CompletableFuture.supplyAsync(() -> generate(original, key, width), executor));
+        future.whenComplete((result, error) -> inFlight.remove(variant, future));
+        return future;
+    }
+
+    // returns null when the original is already small enough or cannot be decoded
+    private Path generate(Path original, Path variant, int width) {
+        if (Files.isRegularFile(variant)) {
+            return variant;
+        }
+        Path marker = markerPath(original, width);
+        if (Files.exists(marker)) {
+            return null;
+        }
+        try {
+            BufferedImage source = read(original, width);
+            if (source == null) {
+                // the original is stored by content hash and never changes, so this holds for good
+                try {
+                    Files.createFile(marker);
+                } catch (FileAlreadyExistsException e) {
+                    // another request recorded it first
+                }
+                return null;
+            }
+            String format = format(variant);
+            BufferedImage scaled = scale(source, width, !"jpg".equals(format));
+            Path temp = Files.createTempFile(variant.getParent(), variant.getFileName().toString(), ".tmp");
+            try {
+                if (!ImageIO.write(scaled, format, temp.toFile())) {
+                    return null;
+                }
+                Files.move(temp, variant, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return variant;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // checks the header dimensions first, so a decompression bomb or an image no wider than
+    // the variant is never decoded
+    private static BufferedImage read(Path original, int width) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                if (sourceWidth <= width || (long) sourceWidth * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // halves with bilinear filtering until close to the target, which keeps quality near bicubic at a fraction of the cost
+    private static BufferedImage scale(BufferedImage source, int targetWidth, boolean alpha) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth);
+        return current;
+    }
+
+    static int snap(int requestedWidth) {
+        for (int width : WIDTHS) {
+            if (requestedWidth <= width) {
+                return width;
+            }
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    private Path variantPath(Path original, int width) {
+        String extension = extension(original);
+        // GIF and BMP variants are written as PNG
+        String variantExtension = extension.equals(".gif") || extension.equals(".bmp") ? ".png" : extension;
+        return MediaStore.variantPath(original, "w" + width, variantExtension);
+    }
+
+    private static Path markerPath(Path original, int width) {
+        return MediaStore.variantPath(original, "w" + width, ".original");
+    }
+
+    private static String format(Path variant) {
+        return extension(variant).equals(".png") ? "png" : "jpg";
+    }
+
+    private static boolean isImage(Path file) {
+        return file != null && IMAGE_EXTENSIONS.contains(extension(file)) && Files.isRegularFile(file);
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,190 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.entity.MediaBlob;
+import com.LMS.Learning_Management_System.repository.MediaBlobRepository;
+import com.LMS.Learning_Management_System.util.ContentAddressedStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed storage for course media.
+ * <p>
+ * {@code Course.media} holds the SHA-256 of the file, so the same video attached to several
+ * courses is stored once. Every course pointing at a blob counts as one reference; when the
+ * count drops to zero the blob is only marked, and {@link #sweep()} deletes it in batches once
+ * the grace period has passed. Committing a file and taking a reference happen under a
+ * per-hash lock that the sweeper also takes, so a re-upload can never race a delete.
+ * Values that are not hashes are media saved before this store existed and live in
+ * {@link CourseService#MEDIA_UPLOAD_DIR}.
+ */
+@Service
+public class MediaStore {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int SWEEP_BATCH_SIZE = 200;
+    private static final Pattern BLOB_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final ContentAddressedStore store;
+    private final long gracePeriodMillis;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Map<String, String> paths = new ConcurrentHashMap<>();
+
+    public MediaStore(MediaBlobRepository mediaBlobRepository,
+                      @Value("${lms.media.store-dir:media/store}") String storeDir,
+                      @Value("${lms.media.max-bytes:10737418240}") long maxBytes,
+                      @Value("${lms.media.sweep-grace-hours:24}") long gracePeriodHours) {
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.store = new ContentAddressedStore(Paths.get(storeDir), maxBytes);
+        this.gracePeriodMillis = gracePeriodHours * 60 * 60 * 1000;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // stores the stream and returns its hash with one reference taken
+    public String store(InputStream in, String originalFilename) throws IOException {
+        ContentAddressedStore.SpooledFile spooled = store.spool(in);
+        try {
+            return commit(spooled.getFile(), spooled.getDigest(), ContentAddressedStore.extensionOf(originalFilename), spooled.getSize());
+        } finally {
+            Files.deleteIfExists(spooled.getFile());
+        }
+    }
+
+    // moves a complete file (e.g. an assembled chunked upload) into the store
+    public String adopt(Path file, String originalFilename) throws IOException {
+        String digest = ContentAddressedStore.digestOf(file);
+        try {
+            return commit(file, digest, ContentAddressedStore.extensionOf(originalFilename), Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // drops one reference to the given Course.media value; legacy files have a single owner and go at once
+    public void release(String media) {
+        if (media == null || media.isEmpty()) {
+            return;
+        }
+        if (isBlobHash(media)) {
+            mediaBlobRepository.decrementRefCount(media, new Date());
+            return;
+        }
+        Path legacy = resolveLegacy(media);
+        if (legacy != null) {
+            deleteWithVariants(legacy);
+        }
+    }
+
+    // derived files such as thumbnails live next to the original as <name>.v-<variant><ext>
+    static Path variantPath(Path original, String variant, String extension) {
+        return original.resolveSibling(stem(original) + ".v-" + variant + extension);
+    }
+
+    public Path resolve(String media) {
+        if (media == null || media.isEmpty()) {
+            return null;
+        }
+        if (!isBlobHash(media)) {
+            return resolveLegacy(media);
+        }
+        String relativePath = paths.get(media);
+        if (relativePath == null) {
+            MediaBlob blob = mediaBlobRepository.findById(media).orElse(null);
+            if (blob == null) {
+                return null;
+            }
+            relativePath = ContentAddressedStore.relativePath(blob.getHash(), blob.getExtension());
+            paths.put(media, relativePath);
+        }
+        return store.resolve(relativePath);
+    }
+
+    @Scheduled(fixedDelayString = "${lms.media.sweep-interval-ms:600000}", initialDelay = 60 * 1000)
+    public void sweep() {
+        Date cutoff = new Date(System.currentTimeMillis() - gracePeriodMillis);
+        while (true) {
+            List<MediaBlob> batch = mediaBlobRepository.findUnreferencedBefore(cutoff, PageRequest.of(0, SWEEP_BATCH_SIZE));
+            int deleted = 0;
+            for (MediaBlob blob : batch) {
+                synchronized (lockFor(blob.getHash())) {
+                    if (mediaBlobRepository.deleteIfUnreferenced(blob.getHash()) == 0) {
+                        continue;
+                    }
+                    paths.remove(blob.getHash());
+                    // if this fails the row is already gone, so a later upload of the same content rewrites the file
+                    deleteWithVariants(store.resolve(ContentAddressedStore.relativePath(blob.getHash(), blob.getExtension())));
+                    deleted++;
+                }
+            }
+            // a short or fruitless batch means there is nothing left to sweep right now
+            if (batch.size() < SWEEP_BATCH_SIZE || deleted == 0) {
+                return;
+            }
+        }
+    }
+
+    static boolean isBlobHash(String media) {
+        return media != null && BLOB_HASH.matcher(media).matches();
+    }
+
+    private String commit(Path file, String digest, String extension, long size) throws IOException {
+        synchronized (lockFor(digest)) {
+            MediaBlob existing = mediaBlobRepository.findById(digest).orElse(null);
+            // an existing blob keeps the extension it was first stored with
+            String storedExtension = existing != null ? existing.getExtension() : extension;
+            store.commit(file, digest, storedExtension, size);
+            if (mediaBlobRepository.incrementRefCount(digest) == 0) {
+                mediaBlobRepository.save(new MediaBlob(digest, storedExtension, size, 1));
+            }
+            return digest;
+        }
+    }
+
+    private Object lockFor(String hash) {
+        return locks[(hash.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static void deleteWithVariants(Path original) {
+        try {
+            Files.deleteIfExists(original);
+            Path directory = original.getParent();
+            if (directory != null && Files.isDirectory(directory)) {
+                try (DirectoryStream<Path> variants = Files.newDirectoryStream(directory, stem(original) + ".v-*")) {
+                    for (Path variant : variants) {
+                        Files.deleteIfExists(variant);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // an orphaned file only costs disk space
+        }
+    }
+
+    private static String stem(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot <= 0 ? name : name.substring(0, dot);
+    }
+
+    private Path resolveLegacy(String media) {
+        Path directory = Paths.get(CourseService.MEDIA_UPLOAD_DIR).toAbsolutePath().normalize();
+        Path file = directory.resolve(media).normalize();
+        return file.startsWith(directory) ? file : null;
+    }
+}
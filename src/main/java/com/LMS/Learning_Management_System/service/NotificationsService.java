@@ -7,6 +7,7 @@ import com.LMS.Learning_Management_System.repository.NotificationsRepository;
 import com.LMS.Learning_Management_System.repository.UsersRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -18,11 +19,15 @@ public class NotificationsService {
 
     private final NotificationsRepository notificationsRepository;
     private final UsersRepository usersRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final int NOTIFICATION_BATCH_SIZE = 1000;
 
     @Autowired
-    public NotificationsService(NotificationsRepository notificationsRepository, UsersRepository usersRepository) {
+    public NotificationsService(NotificationsRepository notificationsRepository, UsersRepository usersRepository, JdbcTemplate jdbcTemplate) {
         this.notificationsRepository = notificationsRepository;
         this.usersRepository = usersRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public List<String> getAllNotifications(int userId , HttpServletRequest request) {
@@ -69,6 +74,25 @@ public class NotificationsService {
         notificationsRepository.save(enrollmentNotification);
 
     }
+
+    // same message to many users, written with JDBC batches instead of one load and save per user
+    public void sendNotifications(String message, int[] userIds) {
+        List<Object[]> rows = new ArrayList<>(Math.min(userIds.length, NOTIFICATION_BATCH_SIZE));
+        for (int userId : userIds) {
+            rows.add(new Object[]{userId, message});
+            if (rows.size() == NOTIFICATION_BATCH_SIZE) {
+                insertNotifications(rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            insertNotifications(rows);
+        }
+    }
+
+    private void insertNotifications(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (user_id, message, created_at, is_read) VALUES (?, ?, NOW(), false)", rows);
+    }
     private void  check(int id , HttpServletRequest request)
     {
         Users loggedInUser = (Users) request.getSession().getAttribute("user");
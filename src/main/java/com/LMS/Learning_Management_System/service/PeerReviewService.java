@@ -0,0 +1,172 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.dto.PeerReviewAllocationDto;
+import com.LMS.Learning_Management_System.dto.PeerReviewDto;
+import com.LMS.Learning_Management_System.entity.Assignment;
+import com.LMS.Learning_Management_System.entity.Users;
+import com.LMS.Learning_Management_System.repository.AssignmentRepository;
+import com.LMS.Learning_Management_System.repository.PeerReviewRepository;
+import com.LMS.Learning_Management_System.repository.SubmissionRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distributes peer reviews so every submission gets exactly k reviewers and every student
+ * reviews exactly k submissions.
+ * <p>
+ * Submissions are shuffled into a ring. The reviewer of the submission at position i is the
+ * author at position i + d for each of k distinct offsets d in [1, n - 1]. Because each offset
+ * is a bijection on the ring, the load is perfectly balanced, and since no offset is 0 nobody
+ * reviews their own work. Drawing the offsets at random (instead of 1..k) spreads the pairs
+ * so that neighbours in the ring do not always review each other. The whole thing is O(n * k)
+ * over int arrays and is written with one JDBC batch.
+ */
+@Service
+public class PeerReviewService {
+
+    private static final int MAX_REVIEWS_PER_SUBMISSION = 10;
+    private static final int BATCH_SIZE = 1000;
+
+    private final AssignmentRepository assignmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final PeerReviewRepository peerReviewRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PeerReviewService(AssignmentRepository assignmentRepository, SubmissionRepository submissionRepository,
+                             PeerReviewRepository peerReviewRepository, JdbcTemplate jdbcTemplate) {
+        this.assignmentRepository = assignmentRepository;
+        this.submissionRepository = submissionRepository;
+        this.peerReviewRepository = peerReviewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // read committed, so the check after the lock sees an allocation committed while waiting for it
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public PeerReviewAllocationDto assignPeerReviews(int assignmentId, int reviewsPerSubmission, HttpServletRequest request) {
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (loggedInInstructor == null) {
+            throw new IllegalArgumentException("No logged in user is found.");
+        }
+        if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3) {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment with ID " + assignmentId + " not found."));
+        if (assignment.getCourseID().getInstructorId().getUserAccountId() != loggedInInstructor.getUserId()) {
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this assignment submissions.");
+        }
+        if (reviewsPerSubmission < 1 || reviewsPerSubmission > MAX_REVIEWS_PER_SUBMISSION) {
+            throw new IllegalArgumentException("Reviews per submission must be between 1 and " + MAX_REVIEWS_PER_SUBMISSION + ".");
+        }
+        // the assignment row lock serializes concurrent allocations for the same assignment
+        jdbcTemplate.queryForList("SELECT assignment_id FROM assignment WHERE assignment_id = ? FOR UPDATE",
+                Integer.class, assignmentId);
+        if (peerReviewRepository.existsByAssignmentId(assignmentId)) {
+            throw new IllegalArgumentException("Peer reviews were already assigned for this assignment.");
+        }
+
+        // one submission per student; ids are copied into parallel int arrays
+        List<Object[]> rows = submissionRepository.findSubmissionAuthorsByAssignmentId(assignmentId);
+        int[] submissionIds = new int[rows.size()];
+        int[] authorIds = new int[rows.size()];
+        Set<Integer> seenAuthors = new HashSet<>();
+        int n = 0;
+        for (Object[] row : rows) {
+            int authorId = ((Number) row[1]).intValue();
+            if (seenAuthors.add(authorId)) {
+                submissionIds[n] = ((Number) row[0]).intValue();
+                authorIds[n] = authorId;
+                n++;
+            }
+        }
+        if (n <= reviewsPerSubmission) {
+            throw new IllegalArgumentException("At least " + (reviewsPerSubmission + 1)
+                    + " students must have submitted to assign " + reviewsPerSubmission + " reviews each.");
+        }
+
+        int[] ring = allocateRing(n, ThreadLocalRandom.current());
+        int[] offsets = drawOffsets(n, reviewsPerSubmission, ThreadLocalRandom.current());
+
+        int total = n * reviewsPerSubmission;
+        int[] reviewSubmission = new int[total];
+        int[] reviewer = new int[total];
+        List<PeerReviewDto> reviews = new ArrayList<>(total);
+        int r = 0;
+        for (int position = 0; position < n; position++) {
+            int submission = ring[position];
+            for (int offset : offsets) {
+                int reviewerIndex = ring[(position + offset) % n];
+                reviewSubmission[r] = submissionIds[submission];
+                reviewer[r] = authorIds[reviewerIndex];
+                reviews.add(new PeerReviewDto(reviewer[r], submissionIds[submission], authorIds[submission]));
+                r++;
+            }
+        }
+
+        // rewriteBatchedStatements on the JDBC URL turns each batch into a single multi-row INSERT
+        for (int from = 0; from < total; from += BATCH_SIZE) {
+            int start = from;
+            int size = Math.min(BATCH_SIZE, total - from);
+            jdbcTemplate.batchUpdate("INSERT INTO peer_review (assignment_id, submission_id, reviewer_id) VALUES (?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            statement.setInt(1, assignmentId);
+                            statement.setInt(2, reviewSubmission[start + i]);
+                            statement.setInt(3, reviewer[start + i]);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+        }
+        return new PeerReviewAllocationDto(assignmentId, reviewsPerSubmission, n, reviews);
+    }
+
+    // Fisher-Yates over submission indexes
+    static int[] allocateRing(int n, Random random) {
+        int[] ring = new int[n];
+        for (int i = 0; i < n; i++) {
+            ring[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ring[i];
+            ring[i] = ring[j];
+            ring[j] = tmp;
+        }
+        return ring;
+    }
+
+    // k distinct offsets from [1, n - 1]; when possible d and n - d are not both taken, which would make two students review each other
+    static int[] drawOffsets(int n, int k, Random random) {
+        boolean avoidMutual = 2 * k <= n - 1;
+        Set<Integer> taken = new HashSet<>();
+        int[] offsets = new int[k];
+        int count = 0;
+        while (count < k) {
+            int offset = 1 + random.nextInt(n - 1);
+            if (taken.contains(offset) || (avoidMutual && (taken.contains(n - offset) || 2 * offset == n))) {
+                continue;
+            }
+            taken.add(offset);
+            offsets[count++] = offset;
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,242 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.entity.Question;
+import com.LMS.Learning_Management_System.repository.QuestionRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process index over question texts, one per course.
+ * <p>
+ * Keyword search uses an inverted index (postings intersected smallest first).
+ * Near-duplicate detection uses a 64-bit SimHash split into four 16-bit bands: two texts
+ * within {@link #MAX_HAMMING_DISTANCE} bits of each other always share at least one band,
+ * so only the questions in the matching band buckets are compared. A near-identical stem is
+ * only a duplicate when the type, options and correct answer are the same too, so questions
+ * that share a generic stem ("Which of the following is correct?") are kept apart.
+ */
+@Service
+public class QuestionBankIndex {
+
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = 64 / BANDS;
+    private static final int MAX_HAMMING_DISTANCE = 3;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "of", "on", "in", "is", "are", "was", "were", "to", "and", "or", "for", "with",
+            "by", "at", "as", "be", "it", "its", "this", "that", "what", "which", "does", "do", "s");
+
+    private final QuestionRepository questionRepository;
+    private final Map<Integer, CourseIndex> courses = new ConcurrentHashMap<>();
+
+    public QuestionBankIndex(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    public List<Integer> search(int courseId, String query, int limit) {
+        return course(courseId).search(tokenize(query), limit);
+    }
+
+    // ids of existing questions with a nearly identical text and the same type, options and answer, lowest first
+    public List<Integer> findNearDuplicates(int courseId, String text, int typeId, String options, String correctAnswer,
+                                            int excludeQuestionId) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return course(courseId).findNearDuplicates(simHash(tokens), details(typeId, options, correctAnswer), excludeQuestionId);
+    }
+
+    public void add(int courseId, Question question) {
+        course(courseId).add(question.getQuestionId(), tokenize(question.getQuestionText()),
+                details(question.getQuestionType().getTypeId(), question.getOptions(), question.getCorrectAnswer()));
+    }
+
+    // only touches a course already in memory; an unloaded one reads the current rows when first used
+    public void remove(int courseId, int questionId) {
+        CourseIndex index = courses.get(courseId);
+        if (index != null) {
+            index.remove(questionId);
+        }
+    }
+
+    private CourseIndex course(int courseId) {
+        return courses.computeIfAbsent(courseId, id -> {
+            CourseIndex index = new CourseIndex();
+            for (Object[] row : questionRepository.findIndexedFieldsByCourseId(id)) {
+                index.add(((Number) row[0]).intValue(), tokenize((String) row[1]),
+                        details(((Number) row[2]).intValue(), (String) row[3], (String) row[4]));
+            }
+            return index;
+        });
+    }
+
+    // normalized words without stop words, with a light plural strip
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(ShortAnswerMatcher.normalize(text))) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+                token = token.substring(0, token.length() - 1);
+            }
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    // exact hash of everything but the text; options and answer only keep their words, so JSON quoting does not matter
+    static long details(int typeId, String options, String correctAnswer) {
+        return hash(typeId + "\u0001" + canonical(options) + "\u0001" + canonical(correctAnswer));
+    }
+
+    private static String canonical(String text) {
+        if (text == null) {
+            return "";
+        }
+        return String.join(" ", TOKEN_SEPARATOR.split(ShortAnswerMatcher.normalize(text))).trim();
+    }
+
+    // words and word pairs as features, so reordering and single-word edits stay close
+    static long simHash(List<String> tokens) {
+        int[] weights = new int[64];
+        String previous = null;
+        for (String token : tokens) {
+            addFeature(weights, hash(token));
+            if (previous != null) {
+                addFeature(weights, hash(previous + ' ' + token));
+            }
+            previous = token;
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    private static void addFeature(int[] weights, long featureHash) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((featureHash >>> bit) & 1L) == 1L ? 1 : -1;
+        }
+    }
+
+    // FNV-1a followed by a SplitMix64 finalizer for good bit dispersion
+    private static long hash(String feature) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            h ^= feature.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private static long bandKey(int band, long fingerprint) {
+        return ((long) band << BAND_BITS) | ((fingerprint >>> (band * BAND_BITS)) & 0xffffL);
+    }
+
+    private static final class CourseIndex {
+        private final Map<String, Set<Integer>> postings = new HashMap<>();
+        private final Map<Long, List<Integer>> bands = new HashMap<>();
+        private final Map<Integer, Long> fingerprints = new HashMap<>();
+        private final Map<Integer, Long> details = new HashMap<>();
+        private final Map<Integer, Set<String>> terms = new HashMap<>();
+
+        synchronized void add(int questionId, List<String> tokens, long detail) {
+            remove(questionId);
+            long fingerprint = simHash(tokens);
+            Set<String> unique = new HashSet<>(tokens);
+            for (String term : unique) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(questionId);
+            }
+            for (int band = 0; band < BANDS; band++) {
+                bands.computeIfAbsent(bandKey(band, fingerprint), k -> new ArrayList<>()).add(questionId);
+            }
+            fingerprints.put(questionId, fingerprint);
+            details.put(questionId, detail);
+            terms.put(questionId, unique);
+        }
+
+        synchronized void remove(int questionId) {
+            Long fingerprint = fingerprints.remove(questionId);
+            if (fingerprint == null) {
+                return;
+            }
+            details.remove(questionId);
+            for (String term : terms.remove(questionId)) {
+                Set<Integer> ids = postings.get(term);
+                ids.remove(questionId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            for (int band = 0; band < BANDS; band++) {
+                bands.get(bandKey(band, fingerprint)).remove(Integer.valueOf(questionId));
+            }
+        }
+
+        synchronized List<Integer> search(List<String> tokens, int limit) {
+            List<Set<Integer>> lists = new ArrayList<>();
+            for (String term : new LinkedHashSet<>(tokens)) {
+                Set<Integer> ids = postings.get(term);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(ids);
+            }
+            if (lists.isEmpty()) {
+                return Collections.emptyList();
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            List<Integer> result = new ArrayList<>();
+            for (Integer id : lists.get(0)) {
+                boolean all = true;
+                for (int i = 1; i < lists.size() && all; i++) {
+                    all = lists.get(i).contains(id);
+                }
+                if (all) {
+                    result.add(id);
+                }
+            }
+            Collections.sort(result);
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+
+        synchronized List<Integer> findNearDuplicates(long fingerprint, long detail, int excludeQuestionId) {
+            Set<Integer> matches = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<Integer> bucket = bands.get(bandKey(band, fingerprint));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Integer candidate : bucket) {
+                    if (candidate != excludeQuestionId && details.get(candidate) == detail
+                            && Long.bitCount(fingerprints.get(candidate) ^ fingerprint) <= MAX_HAMMING_DISTANCE) {
+                        matches.add(candidate);
+                    }
+                }
+            }
+            List<Integer> result = new ArrayList<>(matches);
+            Collections.sort(result);
+            return result;
+        }
+    }
+}
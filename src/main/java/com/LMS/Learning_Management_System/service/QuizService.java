@@ -1,22 +1,35 @@
 package com.LMS.Learning_Management_System.service;
 
 
+import com.LMS.Learning_Management_System.dto.AdaptiveAnswerDto;
 import com.LMS.Learning_Management_System.dto.GradingDto;
+import com.LMS.Learning_Management_System.dto.PageDto;
+import com.LMS.Learning_Management_System.dto.QuestionBankPageDto;
 import com.LMS.Learning_Management_System.dto.QuestionDto;
+import com.LMS.Learning_Management_System.dto.QuizGradeReportDto;
 import com.LMS.Learning_Management_System.dto.QuizDto;
 import com.LMS.Learning_Management_System.dto.StudentDto;
 import com.LMS.Learning_Management_System.repository.*;
+import com.LMS.Learning_Management_System.util.ReportSort;
+import com.LMS.Learning_Management_System.util.StudentShuffle;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.LMS.Learning_Management_System.entity.*;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -24,8 +37,16 @@ import java.util.*;
 public class QuizService {
     
     // Constants
-    private static final long QUIZ_TIMEOUT_MINUTES = 15;
+    static final long QUIZ_TIMEOUT_MINUTES = 15;
     private static final long MILLISECONDS_PER_MINUTE = 60L * 1000;
+    private static final int ADAPTIVE_QUESTION_COUNT = 10;
+    private static final int MAX_QUESTION_BANK_PAGE_SIZE = 200;
+    private static final String ADAPTIVE_SESSION_PREFIX = "adaptive_quiz_";
+    private static final Map<String, String> QUIZ_GRADE_REPORT_SORTS = Map.of(
+            "student_id", "student_id.userAccountId",
+            "first_name", "student_id.firstName",
+            "last_name", "student_id.lastName",
+            "grade", "grade");
     
     private final QuizRepository quizRepository;
     private final CourseRepository courseRepository;
@@ -38,10 +59,14 @@ public class QuizService {
     private final NotificationsService notificationsService;
 
     private final EnrollmentService enrollmentService;
+    private final ShortAnswerMatcher shortAnswerMatcher;
+    private final AdaptiveQuizService adaptiveQuizService;
+    private final QuestionBankIndex questionBankIndex;
+    private final GradebookService gradebookService;
+    private final ReminderScheduler reminderScheduler;
     List<Question> quizQuestions = new ArrayList<>();
     List<Answer> quizAnswers = new ArrayList<>();
-    List<Question>questionBank= new ArrayList<>();
-    public QuizService(QuizRepository quizRepository, CourseRepository courseRepository, QuestionRepository questionRepository, ObjectMapper objectMapper, StudentRepository studentRepository, GradingRepository gradingRepository, QuestionTypeRepository questionTypeRepository, EnrollmentRepository enrollmentRepository, NotificationsService notificationsService, EnrollmentService enrollmentService) {
+    public QuizService(QuizRepository quizRepository, CourseRepository courseRepository, QuestionRepository questionRepository, ObjectMapper objectMapper, StudentRepository studentRepository, GradingRepository gradingRepository, QuestionTypeRepository questionTypeRepository, EnrollmentRepository enrollmentRepository, NotificationsService notificationsService, EnrollmentService enrollmentService, ShortAnswerMatcher shortAnswerMatcher, AdaptiveQuizService adaptiveQuizService, QuestionBankIndex questionBankIndex, GradebookService gradebookService, ReminderScheduler reminderScheduler) {
         this.quizRepository = quizRepository;
         this.courseRepository = courseRepository;
         this.questionRepository = questionRepository;
@@ -52,10 +77,15 @@ public class QuizService {
         this.enrollmentRepository = enrollmentRepository;
         this.notificationsService = notificationsService;
         this.enrollmentService = enrollmentService;
+        this.shortAnswerMatcher = shortAnswerMatcher;
+        this.adaptiveQuizService = adaptiveQuizService;
+        this.questionBankIndex = questionBankIndex;
+        this.gradebookService = gradebookService;
+        this.reminderScheduler = reminderScheduler;
     }
 
 
-    public int Create(Integer course_id , int type_id , HttpServletRequest request ) throws Exception {  // return type ? { list of questions or Quiz }
+    public int Create(Integer course_id , int type_id , boolean adaptive, boolean shuffled, HttpServletRequest request ) throws Exception {  // return type ? { list of questions or Quiz }
         Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
         Course course= courseRepository.findById(course_id)
                 .orElseThrow(() -> new EntityNotFoundException("Course not found"));
@@ -80,9 +110,23 @@ public class QuizService {
         quiz.setQuestionCount(5);
         quiz.setRandomized(true);
         quiz.setCreationDate(new Date());
+        quiz.setShuffled(shuffled);
 
-        generateQuestions(quiz,type_id, course);
+        if (adaptive)
+        {
+            // adaptive quizzes draw from the whole bank while the student answers
+            int available = adaptiveQuizService.poolSize(course_id, type_id);
+            if (available < 5)
+                throw new Exception("No enough Questions to create quiz!\n");
+            quiz.setAdaptive(true);
+            quiz.setRandomized(false);
+            quiz.setQuestionTypeId(type_id);
+            quiz.setQuestionCount(Math.min(ADAPTIVE_QUESTION_COUNT, available));
+        }
+        else generateQuestions(quiz,type_id, course);
         quizRepository.save(quiz);
+        reminderScheduler.scheduleQuiz(quiz.getQuizId(), course.getCourseId(), course.getCourseName(), quiz.getTitle(),
+                new Date(quiz.getCreationDate().getTime() + QUIZ_TIMEOUT_MINUTES * MILLISECONDS_PER_MINUTE));
         List<StudentDto> enrolledStudents = enrollmentService.viewEnrolledStudents(course_id,request);
         for(StudentDto student : enrolledStudents)
         {
@@ -151,14 +195,21 @@ public class QuizService {
                 throw new IllegalArgumentException("You don't have permission to enter this course.");
             if(quiz.getCreationDate().getTime() + (QUIZ_TIMEOUT_MINUTES * MILLISECONDS_PER_MINUTE) < new Date().getTime())
                 throw new IllegalArgumentException("The quiz has been finished!");
+            studentRepository.lockById(loggedInUser.getUserId());
             if (gradingRepository.boolFindGradeByQuizAndStudentID(quiz.getQuizId(),loggedInUser.getUserId()).orElse(false))
                 throw new Exception("You have submitted a response earlier!");
+            if (quiz.isAdaptive())
+                throw new IllegalArgumentException("This is an adaptive quiz, its questions are served one at a time.");
         }
         quizQuestions = questionRepository.findQuestionsByQuizId(id);
-        List<QuestionDto> questions =new ArrayList<>();
-        for (Question q : quizQuestions) {
+        boolean shuffle = quiz.isShuffled() && loggedInUser.getUserTypeId().getUserTypeId()==2;
+        long seed = StudentShuffle.questionSeed(quiz.getQuizId(), loggedInUser.getUserId());
+        int[] order = shuffle ? StudentShuffle.permutation(quizQuestions.size(), seed) : null;
+        List<QuestionDto> questions =new ArrayList<>(quizQuestions.size());
+        for (int i = 0; i < quizQuestions.size(); i++) {
+            Question q = quizQuestions.get(order == null ? i : order[i]);
             QuestionDto questionDto = new QuestionDto();
-            questionDto.setOptions(q.getOptions());
+            questionDto.setOptions(shuffle ? shuffleOptions(q.getOptions(), StudentShuffle.optionSeed(seed, q.getQuestionId())) : q.getOptions());
             questionDto.setType(q.getQuestionType().getTypeId());
             questionDto.setQuestion_text(q.getQuestionText());
             questionDto.setCorrect_answer(q.getCorrectAnswer());
@@ -169,6 +220,18 @@ public class QuizService {
         return questions;
     }
 
+    // options are stored as a JSON array, sometimes wrapped in a JSON string
+    private String shuffleOptions(String options, long seed) throws Exception {
+        if (options == null) return null;
+        JsonNode node = objectMapper.readTree(options);
+        if (node.isTextual()) node = objectMapper.readTree(node.asText());
+        if (!node.isArray() || node.size() < 2) return options;
+        int[] order = StudentShuffle.permutation(node.size(), seed);
+        ArrayNode shuffled = objectMapper.createArrayNode();
+        for (int index : order) shuffled.add(node.get(index));
+        return objectMapper.writeValueAsString(shuffled);
+    }
+
     public String getType(int typeID)
     {
         if(typeID==1) return "MCQ";
@@ -195,6 +258,9 @@ public class QuizService {
         }
         Optional<Question> optQuestion = questionRepository.findById(questionDto.getQuestion_id());
         if(optQuestion.isPresent()) throw new Exception("question already exists");
+        List<Integer> duplicates = questionBankIndex.findNearDuplicates(course.getCourseId(), questionDto.getQuestion_text(),
+                questionDto.getType(), questionDto.getOptions(), questionDto.getCorrect_answer(), 0);
+        if(!duplicates.isEmpty()) throw new Exception("Near-duplicates of this question already exist: questions "+duplicates);
         Question question = new Question();
         question.setQuestionText(questionDto.getQuestion_text());
         // Handle QuestionType
@@ -211,6 +277,9 @@ public class QuizService {
         question.setCourseId(course);
         question.setCorrectAnswer(questionDto.getCorrect_answer());
         questionRepository.save(question);
+        shortAnswerMatcher.index(question);
+        questionBankIndex.add(course.getCourseId(), question);
+        adaptiveQuizService.invalidate(course.getCourseId());
 
     }
 
@@ -272,7 +341,8 @@ public class QuizService {
     }
 
 
-    public void createQuestionBank(int course_id, List<QuestionDto> questions, HttpServletRequest request) throws Exception {
+    // returns the skipped near-duplicates: position in the list (from 1) -> ids of the existing questions they match
+    public Map<Integer, List<Integer>> createQuestionBank(int course_id, List<QuestionDto> questions, HttpServletRequest request) throws Exception {
 
         Course course = courseRepository.findById(course_id)
                 .orElseThrow(() -> new EntityNotFoundException("No such Course"));
@@ -292,9 +362,24 @@ public class QuizService {
             throw new Exception("You don't have access to this feature!");
         }
 
+        Map<Integer, List<Integer>> skipped = new LinkedHashMap<>();
+        int position = 0;
         for (QuestionDto dto : questions) {
+            position++;
+            List<Integer> duplicates = questionBankIndex.findNearDuplicates(course_id, dto.getQuestion_text(), dto.getType(),
+                    dto.getOptions(), dto.getCorrect_answer(), dto.getQuestion_id());
+            if (!duplicates.isEmpty()) {
+                skipped.put(position, duplicates);
+                continue;
+            }
             Question question = questionRepository.findById(dto.getQuestion_id())
                     .orElse(new Question()); // Find or create a new question
+            Course previousCourse = question.getCourseId();
+            if (previousCourse != null && previousCourse.getCourseId() != course_id) {
+                // the question moves to this course, so it must leave the old course's index and pools
+                questionBankIndex.remove(previousCourse.getCourseId(), question.getQuestionId());
+                adaptiveQuizService.invalidate(previousCourse.getCourseId());
+            }
 
             question.setQuestionText(dto.getQuestion_text());
             try {
@@ -311,10 +396,14 @@ public class QuizService {
             question.setQuestionType(questionType);
 
             questionRepository.save(question);
+            shortAnswerMatcher.index(question);
+            questionBankIndex.add(course_id, question);
         }
+        adaptiveQuizService.invalidate(course_id);
+        return skipped;
     }
 
-    public QuizDto getQuestionBank(int course_id, HttpServletRequest request) throws Exception {
+    public QuestionBankPageDto getQuestionBank(int course_id, Integer type, Boolean assigned, String text, int page, int size, HttpServletRequest request) throws Exception {
         Users loggedInUser = (Users) request.getSession().getAttribute("user");
 
         if (loggedInUser == null) {
@@ -332,25 +421,36 @@ public class QuizService {
                 throw new IllegalArgumentException("You don't have permission to enter this feature!");
         }
 
-        QuizDto quizDto = new QuizDto();
-        questionBank = questionRepository.findQuestionsByCourseId(course_id);
-        if(questionBank.isEmpty()) throw new Exception("this course doesn't have any!");
-        List<QuestionDto> questionDtos = new ArrayList<>();
-        for (int i = 0; i < questionBank.size(); i++) {
-            QuestionDto questionDto = new QuestionDto();
-            questionDto.setQuestion_id(questionBank.get(i).getQuestionId());
-            questionDto.setCorrect_answer(questionBank.get(i).getCorrectAnswer());
-            questionDto.setQuestion_text(questionBank.get(i).getQuestionText());
-            questionDto.setType(questionBank.get(i).getQuestionType().getTypeId());
-            questionDto.setCourse_id(questionBank.get(i).getCourseId().getCourseId());
-            questionDto.setOptions(questionBank.get(i).getOptions());
-            questionDtos.add(questionDto);
-        }
-        quizDto.setQuestionList(questionDtos);
-        return quizDto;
+        Map<String, Long> countsByType = new LinkedHashMap<>();
+        for (Object[] row : questionRepository.countQuestionsByType(course_id))
+            countsByType.put(getType(((Number) row[0]).intValue()), ((Number) row[1]).longValue());
+        if(countsByType.isEmpty()) throw new Exception("this course doesn't have any!");
+
+        String pattern = null;
+        if (text != null && !text.isBlank())
+            pattern = "%" + text.trim().toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_QUESTION_BANK_PAGE_SIZE),
+                Sort.by("questionId"));
+        Page<QuestionDto> questions = questionRepository.findQuestionBankPage(course_id, type, assigned, pattern, pageable);
+        return new QuestionBankPageDto(questions, countsByType);
+    }
+
+    public List<QuestionDto> searchQuestionBank(int course_id, String query, int limit, HttpServletRequest request) {
+        Users loggedInUser = (Users) request.getSession().getAttribute("user");
+        if (loggedInUser == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        if (loggedInUser.getUserTypeId().getUserTypeId() != 3 || !courseRepository.findByInstructorId(loggedInUser.getUserId(),course_id))
+            throw new IllegalArgumentException("You don't have permission to enter this course.");
+        List<Integer> ids = questionBankIndex.search(course_id, query, Math.min(Math.max(limit, 1), MAX_QUESTION_BANK_PAGE_SIZE));
+        if (ids.isEmpty()) return Collections.emptyList();
+        return questionRepository.findQuestionDtosByIds(ids);
     }
 
     // grade quiz
+    // read committed, so the duplicate check after the lock sees a grade committed while waiting for it
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void gradeQuiz(GradingDto gradingDto, HttpServletRequest request) throws Exception {
         Optional<Quiz> optionalQuiz= Optional.ofNullable(quizRepository.findById(gradingDto.getQuiz_id())
                 .orElseThrow(() -> new EntityNotFoundException("No such Quiz")));
@@ -368,19 +468,26 @@ public class QuizService {
                 throw new IllegalArgumentException("You don't have permission to enter this course.");
             if(quiz.getCreationDate().getTime() + (QUIZ_TIMEOUT_MINUTES * MILLISECONDS_PER_MINUTE) < new Date().getTime())
                 throw new IllegalArgumentException("The quiz has been finished!");
+            studentRepository.lockById(loggedInUser.getUserId());
             if (gradingRepository.boolFindGradeByQuizAndStudentID(quiz.getQuizId(),loggedInUser.getUserId()).orElse(false))
                 throw new Exception("You have submitted a response earlier!");
         }
         else throw new Exception("You are not authorized to submit quizzes! ");
+        if (quiz.isAdaptive())
+            throw new IllegalArgumentException("This is an adaptive quiz, submit answers one at a time.");
         Student student = studentRepository.findById(loggedInUser.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("No Student found with this ID!"));
           // get questions with the quiz id
         List<Question>gradedQuestions=questionRepository.findQuestionsByQuizId(gradingDto.getQuiz_id());
         List<String> answersList = gradingDto.getAnswers();
+        // answers arrive in the student's shuffled order: answer i belongs to question order[i]
+        int[] order = quiz.isShuffled()
+                ? StudentShuffle.permutation(gradedQuestions.size(), StudentShuffle.questionSeed(quiz.getQuizId(), loggedInUser.getUserId()))
+                : null;
         int grade=0;
         for (int i = 0; i < gradedQuestions.size(); i++) {
 
-            if(Objects.equals(gradedQuestions.get(i).getCorrectAnswer(), answersList.get(i)))
+            if(isCorrect(gradedQuestions.get(order == null ? i : order[i]), answersList.get(i)))
             {
                 grade++;
 
@@ -393,11 +500,87 @@ public class QuizService {
         grading.setQuiz_id(quiz);
         grading.setStudent_id(student);
         gradingRepository.save(grading);
+        gradebookService.recordQuizGrade(quiz.getCourse().getCourseId(), student.getUserAccountId(), quiz.getQuizId(),
+                grade, gradedQuestions.size());
         int id  =quiz.getQuizId();
         notificationsService.sendNotification("Quiz "+id+" has been graded", loggedInUser.getUserId());
 
     }
 
+    public QuestionDto nextAdaptiveQuestion(int quizId, HttpServletRequest request) throws Exception {
+        AdaptiveQuizService.AdaptiveSession session = adaptiveSession(quizId, request);
+        QuestionDto question = adaptiveQuizService.currentQuestion(session);
+        if (question == null)
+            throw new IllegalArgumentException("This adaptive quiz has already been completed.");
+        return question;
+    }
+
+    // returns the next question, or null once the quiz is complete and graded
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public QuestionDto answerAdaptiveQuestion(int quizId, AdaptiveAnswerDto answerDto, HttpServletRequest request) throws Exception {
+        AdaptiveQuizService.AdaptiveSession session = adaptiveSession(quizId, request);
+        adaptiveQuizService.answer(session, answerDto.getQuestion_id(), answerDto.getAnswer());
+        if (!session.isFinished())
+            return adaptiveQuizService.currentQuestion(session);
+
+        Users loggedInUser = (Users) request.getSession().getAttribute("user");
+        request.getSession().removeAttribute(ADAPTIVE_SESSION_PREFIX + quizId);
+        // the check in adaptiveSession only ran when the quiz started; a second HTTP session may have finished since
+        studentRepository.lockById(loggedInUser.getUserId());
+        if (gradingRepository.boolFindGradeByQuizAndStudentID(quizId,loggedInUser.getUserId()).orElse(false))
+            throw new Exception("You have submitted a response earlier!");
+        Quiz quiz = quizRepository.getReferenceById(quizId);
+        Grading grading = new Grading();
+        grading.setGrade(session.getCorrect());
+        grading.setQuiz_id(quiz);
+        grading.setStudent_id(studentRepository.getReferenceById(loggedInUser.getUserId()));
+        gradingRepository.save(grading);
+        gradebookService.recordQuizGrade(quiz.getCourse().getCourseId(), loggedInUser.getUserId(), quizId,
+                session.getCorrect(), session.getQuestionCount());
+        notificationsService.sendNotification("Quiz "+quizId+" has been graded", loggedInUser.getUserId());
+        return null;
+    }
+
+    // the session is created (and access checked) once; answers are then served from memory
+    private AdaptiveQuizService.AdaptiveSession adaptiveSession(int quizId, HttpServletRequest request) throws Exception {
+        Users loggedInUser = (Users) request.getSession().getAttribute("user");
+        if (loggedInUser == null) {
+            throw new IllegalArgumentException("No user is logged in.");
+        }
+        String attribute = ADAPTIVE_SESSION_PREFIX + quizId;
+        Object existing = request.getSession().getAttribute(attribute);
+        if (existing instanceof AdaptiveQuizService.AdaptiveSession session)
+            return session;
+
+        if (loggedInUser.getUserTypeId().getUserTypeId() != 2)
+            throw new Exception("You are not authorized to submit quizzes! ");
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new IllegalArgumentException("No quiz found with the given ID: " + quizId));
+        if (!quiz.isAdaptive())
+            throw new IllegalArgumentException("Quiz " + quizId + " is not an adaptive quiz.");
+        boolean enrolled = enrollmentRepository.existsByStudentAndCourse(studentRepository.findById(loggedInUser.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("No student found with this ID!")),quiz.getCourse());
+        if(!enrolled)
+            throw new IllegalArgumentException("You don't have permission to enter this course.");
+        long deadline = quiz.getCreationDate().getTime() + (QUIZ_TIMEOUT_MINUTES * MILLISECONDS_PER_MINUTE);
+        if(deadline < new Date().getTime())
+            throw new IllegalArgumentException("The quiz has been finished!");
+        if (gradingRepository.boolFindGradeByQuizAndStudentID(quizId,loggedInUser.getUserId()).orElse(false))
+            throw new Exception("You have submitted a response earlier!");
+
+        AdaptiveQuizService.AdaptiveSession session = adaptiveQuizService.start(quizId, quiz.getCourse().getCourseId(),
+                quiz.getQuestionTypeId(), quiz.getQuestionCount(), deadline);
+        request.getSession().setAttribute(attribute, session);
+        return session;
+    }
+
+    private boolean isCorrect(Question question, String answer)
+    {
+        if (ShortAnswerMatcher.isShortAnswer(question))
+            return shortAnswerMatcher.matches(question, answer);
+        return Objects.equals(question.getCorrectAnswer(), answer);
+    }
+
     // return quiz feedback { grade }
     public int quizFeedback(int quiz_id, int student_id, HttpServletRequest request) throws Exception {
         Users loggedInUser = (Users) request.getSession().getAttribute("user");
@@ -430,40 +613,28 @@ public class QuizService {
 
     }
 
-    public List <String> quizGrades (int quizId, HttpServletRequest request)
+    public PageDto<QuizGradeReportDto> quizGrades(int quizId, int page, int size, String sort, String direction,
+                                                  HttpServletRequest request)
     {
-        if (quizRepository.existsById(quizId))
-        {
-            Quiz quiz = quizRepository.findById(quizId).get();
-            List <Grading> quizGrades = gradingRepository.findAllByQuizId(quiz);
-            Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
-            int instructorId = quiz.getCourse().getInstructorId().getUserAccountId();
-
-            if (loggedInInstructor == null)
-            {
-                throw new IllegalArgumentException("No logged in user is found.");
-            }
-            else if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3)
-            {
-                throw new IllegalArgumentException("Logged-in user is not an instructor.");
-            }
-            else if (instructorId != loggedInInstructor.getUserId())
-            {
-                throw new IllegalArgumentException("Logged-in instructor does not have access for this quiz grades.");
-            }
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new IllegalArgumentException("Quiz with ID " + quizId + " not found."));
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        int instructorId = quiz.getCourse().getInstructorId().getUserAccountId();
 
-            List <String> grades = new ArrayList<>();
-            for (Grading grading : quizGrades)
-            {
-                Student student = grading.getStudent_id();
-                String studentGrade = "(ID)" + student.getUserAccountId() + ": (Grade)" + grading.getGrade();
-                grades.add(studentGrade);
-            }
-            return grades;
+        if (loggedInInstructor == null)
+        {
+            throw new IllegalArgumentException("No logged in user is found.");
         }
-        else
+        else if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3)
+        {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        else if (instructorId != loggedInInstructor.getUserId())
         {
-            throw new IllegalArgumentException("Quiz with ID " + quizId + " not found.");
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this quiz grades.");
         }
+
+        Pageable pageable = ReportSort.pageable(page, size, sort, direction, QUIZ_GRADE_REPORT_SORTS, "student_id.userAccountId");
+        return new PageDto<>(gradingRepository.findQuizGradeReport(quizId, pageable));
     }
 }
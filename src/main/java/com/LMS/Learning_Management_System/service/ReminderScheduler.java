@@ -0,0 +1,216 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.repository.AssignmentRepository;
+import com.LMS.Learning_Management_System.repository.QuizRepository;
+import com.LMS.Learning_Management_System.util.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline reminders for assignments and quizzes.
+ * <p>
+ * Upcoming deadlines are loaded once at startup and kept in a {@link TimingWheel} with a one
+ * second tick; creating or changing an item reschedules its reminders, so the tables are never
+ * polled. When a reminder is due, a background sender takes the course's enrolled students minus
+ * the ones who already submitted (both read as sorted id lists and merged) and notifies the rest
+ * in batches.
+ */
+@Service
+public class ReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final long TICK_MILLIS = 1000;
+    private static final long MILLISECONDS_PER_MINUTE = 60L * 1000;
+
+    private final AssignmentRepository assignmentRepository;
+    private final QuizRepository quizRepository;
+    private final NotificationsService notificationsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final long[] assignmentLeadMinutes;
+    private final long quizLeadMinutes;
+    private final TimingWheel<Reminder> wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+    // guarded by wheel
+    private final Map<String, List<TimingWheel.Timeout<Reminder>>> scheduled = new HashMap<>();
+    private final ThreadPoolExecutor sender;
+
+    public ReminderScheduler(AssignmentRepository assignmentRepository, QuizRepository quizRepository,
+                             NotificationsService notificationsService, JdbcTemplate jdbcTemplate,
+                             @Value("${lms.reminders.assignment-lead-minutes:1440,60}") long[] assignmentLeadMinutes,
+                             @Value("${lms.reminders.quiz-lead-minutes:5}") long quizLeadMinutes) {
+        this.assignmentRepository = assignmentRepository;
+        this.quizRepository = quizRepository;
+        this.notificationsService = notificationsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.assignmentLeadMinutes = assignmentLeadMinutes;
+        this.quizLeadMinutes = quizLeadMinutes;
+        this.sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "deadline-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUpcomingDeadlines() {
+        Date now = new Date();
+        for (Object[] row : assignmentRepository.findUpcomingDeadlines(now)) {
+            scheduleAssignment(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), (String) row[2],
+                    (String) row[3], (Date) row[4]);
+        }
+        long timeoutMillis = QuizService.QUIZ_TIMEOUT_MINUTES * MILLISECONDS_PER_MINUTE;
+        for (Object[] row : quizRepository.findCreatedSince(new Date(now.getTime() - timeoutMillis))) {
+            scheduleQuiz(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), (String) row[2],
+                    (String) row[3], new Date(((Date) row[4]).getTime() + timeoutMillis));
+        }
+    }
+
+    // replaces any reminders already scheduled for the assignment
+    public void scheduleAssignment(int assignmentId, int courseId, String courseName, String title, Date dueDate) {
+        List<Reminder> reminders = new ArrayList<>();
+        if (dueDate != null) {
+            for (long lead : assignmentLeadMinutes) {
+                reminders.add(new Reminder(false, assignmentId, courseId, courseName, title, dueDate, lead));
+            }
+        }
+        schedule("assignment:" + assignmentId, reminders);
+    }
+
+    public void scheduleQuiz(int quizId, int courseId, String courseName, String title, Date closesAt) {
+        schedule("quiz:" + quizId, List.of(new Reminder(true, quizId, courseId, courseName, title, closesAt, quizLeadMinutes)));
+    }
+
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void tick() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+            for (Reminder reminder : due) {
+                List<TimingWheel.Timeout<Reminder>> timeouts = scheduled.get(reminder.key());
+                if (timeouts != null) {
+                    timeouts.removeIf(timeout -> timeout.getTask() == reminder);
+                    if (timeouts.isEmpty()) {
+                        scheduled.remove(reminder.key());
+                    }
+                }
+            }
+        }
+        for (Reminder reminder : due) {
+            sender.execute(() -> deliver(reminder));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void schedule(String key, List<Reminder> reminders) {
+        long now = System.currentTimeMillis();
+        synchronized (wheel) {
+            List<TimingWheel.Timeout<Reminder>> previous = scheduled.remove(key);
+            if (previous != null) {
+                previous.forEach(wheel::cancel);
+            }
+            List<TimingWheel.Timeout<Reminder>> timeouts = new ArrayList<>();
+            for (Reminder reminder : reminders) {
+                long fireAt = reminder.deadline.getTime() - reminder.leadMinutes * MILLISECONDS_PER_MINUTE;
+                // a reminder whose moment has passed is skipped rather than sent late
+                if (fireAt > now) {
+                    timeouts.add(wheel.schedule(fireAt, reminder));
+                }
+            }
+            if (!timeouts.isEmpty()) {
+                scheduled.put(key, timeouts);
+            }
+        }
+    }
+
+    private void deliver(Reminder reminder) {
+        try {
+            int[] enrolled = studentIds("SELECT student_id FROM enrollment WHERE course_id = ? ORDER BY student_id", reminder.courseId);
+            int[] done = reminder.quiz
+                    ? studentIds("SELECT DISTINCT student_id FROM grading WHERE quiz_id = ? ORDER BY student_id", reminder.itemId)
+                    : studentIds("SELECT DISTINCT student_id FROM submission WHERE assignment_id = ? ORDER BY student_id", reminder.itemId);
+            int[] pending = difference(enrolled, done);
+            if (pending.length > 0) {
+                notificationsService.sendNotifications(reminder.message(), pending);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not send reminders for {}", reminder.key(), e);
+        }
+    }
+
+    private int[] studentIds(String sql, int id) {
+        return jdbcTemplate.queryForList(sql, Integer.class, id).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // elements of sorted a that are not in sorted b, without duplicates
+    static int[] difference(int[] a, int[] b) {
+        int[] result = new int[a.length];
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (i > 0 && a[i] == a[i - 1]) {
+                continue;
+            }
+            while (j < b.length && b[j] < a[i]) {
+                j++;
+            }
+            if (j == b.length || b[j] != a[i]) {
+                result[count++] = a[i];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static final class Reminder {
+        private final boolean quiz;
+        private final int itemId;
+        private final int courseId;
+        private final String courseName;
+        private final String title;
+        private final Date deadline;
+        private final long leadMinutes;
+
+        Reminder(boolean quiz, int itemId, int courseId, String courseName, String title, Date deadline, long leadMinutes) {
+            this.quiz = quiz;
+            this.itemId = itemId;
+            this.courseId = courseId;
+            this.courseName = courseName;
+            this.title = title;
+            this.deadline = deadline;
+            this.leadMinutes = leadMinutes;
+        }
+
+        String key() {
+            return (quiz ? "quiz:" : "assignment:") + itemId;
+        }
+
+        String message() {
+            String left = leadMinutes % 60 == 0 ? (leadMinutes / 60) + " hour(s)" : leadMinutes + " minute(s)";
+            String at = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.ROOT).format(deadline);
+            return quiz
+                    ? "Reminder: quiz " + title + " with id: " + itemId + " for course: " + courseName + " closes in " + left + " (" + at + ")"
+                    : "Reminder: assignment " + title + " for course: " + courseName + " is due in " + left + " (" + at + ")";
+        }
+    }
+}
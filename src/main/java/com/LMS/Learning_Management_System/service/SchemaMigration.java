@@ -0,0 +1,173 @@
+package com.LMS.Learning_Management_System.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Brings an existing database up to the columns, tables and keys the entities expect.
+ * <p>
+ * The schema is managed by hand ({@code ddl-auto} is not set), so every change is listed here
+ * and applied once during startup, before anything queries the new columns. Each step first
+ * checks {@code information_schema}, so running it against an up-to-date database does nothing.
+ */
+@Service
+public class SchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigration.class);
+
+    // table, column, definition
+    private static final String[][] COLUMNS = {
+            {"quiz", "adaptive", "BIT(1) NULL"},
+            {"quiz", "question_type_id", "INT NULL"},
+            {"quiz", "shuffle_per_student", "BIT(1) NULL"},
+            {"lesson", "content_html", "MEDIUMTEXT NULL"},
+            {"lesson", "version", "BIGINT NOT NULL DEFAULT 0"},
+    };
+
+    // compressed values are Base64 and can outgrow a VARCHAR(255) or TEXT column
+    private static final String[][] WIDENED_TEXT_COLUMNS = {
+            {"lesson", "content"},
+            {"course", "description"},
+    };
+    private static final Set<String> NARROW_TEXT_TYPES = Set.of("varchar", "char", "tinytext", "text");
+
+    private static final List<String> TABLES = List.of(
+            "CREATE TABLE IF NOT EXISTS grading_policy ("
+                    + "course_id INT NOT NULL PRIMARY KEY, "
+                    + "quiz_weight FLOAT NOT NULL, "
+                    + "assignment_weight FLOAT NOT NULL, "
+                    + "quiz_drop_lowest INT NOT NULL, "
+                    + "assignment_drop_lowest INT NOT NULL, "
+                    + "late_penalty_per_day FLOAT NOT NULL, "
+                    + "max_late_penalty FLOAT NOT NULL, "
+                    + "updated_at DATETIME(6) NULL)",
+            "CREATE TABLE IF NOT EXISTS gradebook_entry ("
+                    + "gradebook_entry_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "course_id INT NOT NULL, "
+                    + "student_id INT NOT NULL, "
+                    + "item_type VARCHAR(16) NULL, "
+                    + "item_id INT NOT NULL, "
+                    + "score FLOAT NOT NULL, "
+                    + "max_score FLOAT NULL, "
+                    + "updated_at DATETIME(6) NULL, "
+                    + "UNIQUE KEY uk_gradebook_entry_item (course_id, student_id, item_type, item_id))",
+            "CREATE TABLE IF NOT EXISTS gradebook_total ("
+                    + "gradebook_total_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "course_id INT NOT NULL, "
+                    + "student_id INT NULL, "
+                    + "total_score DOUBLE NOT NULL, "
+                    + "total_max DOUBLE NOT NULL, "
+                    + "graded_items INT NOT NULL, "
+                    + "updated_at DATETIME(6) NULL, "
+                    + "UNIQUE KEY uk_gradebook_total_student (course_id, student_id))",
+            "CREATE TABLE IF NOT EXISTS final_grade ("
+                    + "final_grade_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "course_id INT NOT NULL, "
+                    + "student_id INT NULL, "
+                    + "final_score DOUBLE NOT NULL, "
+                    + "computed_at DATETIME(6) NULL, "
+                    + "UNIQUE KEY uk_final_grade_student (course_id, student_id))",
+            "CREATE TABLE IF NOT EXISTS media_blob ("
+                    + "hash VARCHAR(64) NOT NULL PRIMARY KEY, "
+                    + "extension VARCHAR(11) NULL, "
+                    + "size BIGINT NOT NULL, "
+                    + "ref_count INT NOT NULL, "
+                    + "unreferenced_since DATETIME(6) NULL)",
+            "CREATE TABLE IF NOT EXISTS peer_review ("
+                    + "peer_review_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "assignment_id INT NULL, "
+                    + "submission_id INT NULL, "
+                    + "reviewer_id INT NULL, "
+                    + "score FLOAT NULL, "
+                    + "comments VARCHAR(255) NULL, "
+                    + "UNIQUE KEY uk_peer_review_submission_reviewer (submission_id, reviewer_id), "
+                    + "KEY idx_peer_review_assignment (assignment_id))",
+            "CREATE TABLE IF NOT EXISTS submission_signature ("
+                    + "submission_id INT NOT NULL PRIMARY KEY, "
+                    + "assignment_id INT NOT NULL, "
+                    + "student_id INT NOT NULL, "
+                    + "shingle_count INT NOT NULL, "
+                    + "signature VARBINARY(512) NULL, "
+                    + "KEY idx_submission_signature_assignment (assignment_id))",
+            "CREATE TABLE IF NOT EXISTS question_outcome ("
+                    + "question_id INT NOT NULL PRIMARY KEY, "
+                    + "attempts INT NOT NULL, "
+                    + "correct INT NOT NULL)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaMigration(JdbcTemplate jdbcTemplate,
+                           @Value("${lms.schema.migrate-on-startup:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        for (String table : TABLES) {
+            jdbcTemplate.execute(table);
+        }
+        for (String[] column : COLUMNS) {
+            if (!columnExists(column[0], column[1])) {
+                jdbcTemplate.execute("ALTER TABLE " + column[0] + " ADD COLUMN " + column[1] + " " + column[2]);
+                logger.info("Added column {}.{}", column[0], column[1]);
+            }
+        }
+        for (String[] column : WIDENED_TEXT_COLUMNS) {
+            String type = columnType(column[0], column[1]);
+            if (type != null && NARROW_TEXT_TYPES.contains(type)) {
+                jdbcTemplate.execute("ALTER TABLE " + column[0] + " MODIFY COLUMN " + column[1] + " MEDIUMTEXT NULL");
+                logger.info("Widened column {}.{} from {} to MEDIUMTEXT", column[0], column[1], type);
+            }
+        }
+        addAttendanceUniqueKey();
+    }
+
+    // INSERT IGNORE in AttendanceIngestionService relies on this key to drop repeated check-ins
+    private void addAttendanceUniqueKey() {
+        if (indexExists("lesson_attendance", "uk_lesson_attendance_student")) {
+            return;
+        }
+        // existing duplicates are never deleted here; db/dedupe-lesson-attendance.sql is run by hand
+        Integer duplicates = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM lesson_attendance "
+                + "GROUP BY lesson_id, student_id HAVING COUNT(*) > 1) d", Integer.class);
+        if (duplicates != null && duplicates > 0) {
+            logger.warn("uk_lesson_attendance_student was not added: {} (lesson, student) pairs have repeated check-ins. "
+                    + "Review them and run db/dedupe-lesson-attendance.sql once.", duplicates);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE lesson_attendance "
+                + "ADD UNIQUE KEY uk_lesson_attendance_student (lesson_id, student_id)");
+        logger.info("Added uk_lesson_attendance_student");
+    }
+
+    // table and column names are constants from this class, never user input
+    private boolean columnExists(String table, String column) {
+        return columnType(table, column) != null;
+    }
+
+    private String columnType(String table, String column) {
+        List<String> types = jdbcTemplate.queryForList("SELECT DATA_TYPE FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?", String.class, table, column);
+        return types.isEmpty() ? null : types.get(0).toLowerCase(Locale.ROOT);
+    }
+
+    private boolean indexExists(String table, String index) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.STATISTICS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?", Integer.class, table, index);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.entity.Question;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Grades SHORT_ANSWER questions against a precomputed index of accepted answers.
+ * <p>
+ * The stored correct answer may hold several accepted alternates separated by {@code |}.
+ * Numeric alternates may carry a tolerance, e.g. {@code 3.14±0.01} or {@code 3.14+-0.01}.
+ * All alternates are normalized once when the question is saved, so grading only
+ * normalizes the submitted answer and does a hash lookup.
+ */
+@Service
+public class ShortAnswerMatcher {
+
+    public static final int SHORT_ANSWER_TYPE_ID = 3;
+
+    private static final Pattern ALTERNATE_SEPARATOR = Pattern.compile("\\|");
+    private static final Pattern TOLERANCE_SEPARATOR = Pattern.compile("\\u00B1|\\+-|\\+/-");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern PUNCTUATION = Pattern.compile("[\\p{P}\\p{S}&&[^.+\\-]]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<Integer, AnswerKey> keys = new ConcurrentHashMap<>();
+
+    // a question whose type changed away from SHORT_ANSWER drops its key
+    public void index(Question question) {
+        if (isShortAnswer(question)) {
+            keys.put(question.getQuestionId(), AnswerKey.compile(question.getCorrectAnswer()));
+        } else {
+            evict(question.getQuestionId());
+        }
+    }
+
+    public void evict(int questionId) {
+        keys.remove(questionId);
+    }
+
+    public boolean matches(Question question, String answer) {
+        if (answer == null || question.getCorrectAnswer() == null) {
+            return false;
+        }
+        AnswerKey key = keys.get(question.getQuestionId());
+        // rebuild when the key is missing (e.g. after a restart) or the stored answer was edited
+        if (key == null || !key.source.equals(question.getCorrectAnswer())) {
+            key = AnswerKey.compile(question.getCorrectAnswer());
+            keys.put(question.getQuestionId(), key);
+        }
+        return key.accepts(answer);
+    }
+
+    public static boolean isShortAnswer(Question question) {
+        return question.getQuestionType() != null
+                && question.getQuestionType().getTypeId() == SHORT_ANSWER_TYPE_ID;
+    }
+
+    static String normalize(String text) {
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        folded = COMBINING_MARKS.matcher(folded).replaceAll("");
+        folded = folded.toLowerCase(Locale.ROOT);
+        folded = PUNCTUATION.matcher(folded).replaceAll(" ");
+        folded = WHITESPACE.matcher(folded).replaceAll(" ").trim();
+        // trailing dots are sentence punctuation, not part of the answer
+        int end = folded.length();
+        while (end > 0 && folded.charAt(end - 1) == '.') {
+            end--;
+        }
+        return folded.substring(0, end).trim();
+    }
+
+    private static Double parseNumber(String normalized) {
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        char first = normalized.charAt(0);
+        if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.') {
+            return null;
+        }
+        try {
+            return Double.parseDouble(normalized.replace(" ", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class AnswerKey {
+        private final String source;
+        private final Set<String> accepted;
+        private final double[] numbers;
+        private final double[] tolerances;
+
+        private AnswerKey(String source, Set<String> accepted, double[] numbers, double[] tolerances) {
+            this.source = source;
+            this.accepted = accepted;
+            this.numbers = numbers;
+            this.tolerances = tolerances;
+        }
+
+        static AnswerKey compile(String correctAnswer) {
+            String source = Objects.requireNonNullElse(correctAnswer, "");
+            String[] alternates = ALTERNATE_SEPARATOR.split(source);
+            Set<String> accepted = new HashSet<>();
+            double[] numbers = new double[alternates.length];
+            double[] tolerances = new double[alternates.length];
+            int numericCount = 0;
+            for (String alternate : alternates) {
+                String[] parts = TOLERANCE_SEPARATOR.split(alternate, 2);
+                String normalized = normalize(parts[0]);
+                Double value = parseNumber(normalized);
+                if (value != null) {
+                    Double tolerance = parts.length > 1 ? parseNumber(normalize(parts[1])) : null;
+                    numbers[numericCount] = value;
+                    tolerances[numericCount] = tolerance == null ? 0 : Math.abs(tolerance);
+                    numericCount++;
+                } else {
+                    normalized = normalize(alternate);
+                }
+                if (!normalized.isEmpty()) {
+                    accepted.add(normalized);
+                }
+            }
+            return new AnswerKey(source, accepted,
+                    Arrays.copyOf(numbers, numericCount),
+                    Arrays.copyOf(tolerances, numericCount));
+        }
+
+        boolean accepts(String answer) {
+            String normalized = normalize(answer);
+            if (accepted.contains(normalized)) {
+                return true;
+            }
+            if (numbers.length == 0) {
+                return false;
+            }
+            Double value = parseNumber(normalized);
+            if (value == null) {
+                return false;
+            }
+            for (int i = 0; i < numbers.length; i++) {
+                if (Math.abs(value - numbers[i]) <= tolerances[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
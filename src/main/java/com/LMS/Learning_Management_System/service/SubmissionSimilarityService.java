@@ -0,0 +1,257 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.dto.SimilarPairDto;
+import com.LMS.Learning_Management_System.dto.SimilarityReportDto;
+import com.LMS.Learning_Management_System.entity.Assignment;
+import com.LMS.Learning_Management_System.entity.SubmissionSignature;
+import com.LMS.Learning_Management_System.entity.Users;
+import com.LMS.Learning_Management_System.repository.AssignmentRepository;
+import com.LMS.Learning_Management_System.repository.SubmissionSignatureRepository;
+import com.LMS.Learning_Management_System.util.ContentAddressedStore;
+import com.LMS.Learning_Management_System.util.MinHash;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Flags pairs of submissions to the same assignment whose text is suspiciously similar.
+ * <p>
+ * Each submitted file is reduced in the background to a {@link MinHash} signature over word
+ * 5-grams and stored (512 bytes per submission). Per assignment, signatures are indexed by
+ * LSH band ({@value MinHash#BANDS} bands of {@value MinHash#ROWS_PER_BAND} rows), and only
+ * submissions sharing a band are compared, so a report costs roughly linear time instead of
+ * all pairs. With these parameters a pair at 0.5 similarity is found with about 87%
+ * probability and one at 0.7 with more than 99%.
+ */
+@Service
+public class SubmissionSimilarityService {
+
+    private static final int SHINGLE_SIZE = 5;
+    private static final int MIN_SHINGLES = 20;
+    private static final int MAX_TEXT_CHARS = 2_000_000;
+    // a band shared by hundreds of submissions is boilerplate such as the assignment prompt
+    private static final int MAX_BUCKET_SIZE = 500;
+    private static final double DEFAULT_THRESHOLD = 0.5;
+    private static final Pattern XML_TAG = Pattern.compile("<[^>]*>");
+    private static final Set<String> TEXT_EXTENSIONS = Set.of(".txt", ".md", ".java", ".py", ".c", ".cpp", ".h",
+            ".cs", ".js", ".ts", ".html", ".css", ".sql", ".csv", ".json", ".xml", ".tex");
+
+    private final SubmissionSignatureRepository signatureRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ContentAddressedStore submissionStore;
+    private final ThreadPoolExecutor executor;
+    private final Set<Integer> queued = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, AssignmentIndex> indexes = new ConcurrentHashMap<>();
+
+    public SubmissionSimilarityService(SubmissionSignatureRepository signatureRepository,
+                                       AssignmentRepository assignmentRepository,
+                                       @Value("${lms.submissions.dir:submissions}") String submissionsDir,
+                                       @Value("${lms.submissions.max-bytes:52428800}") long maxSubmissionBytes) {
+        this.signatureRepository = signatureRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.submissionStore = new ContentAddressedStore(Paths.get(submissionsDir), maxSubmissionBytes);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10_000), runnable -> {
+            Thread thread = new Thread(runnable, "submission-similarity");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // called after a file submission is saved; work dropped under load is picked up by the next report
+    public void submitted(int submissionId, int assignmentId, int studentId, String filePath) {
+        if (filePath == null || !queued.add(submissionId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    analyze(submissionId, assignmentId, studentId, filePath);
+                } finally {
+                    queued.remove(submissionId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(submissionId);
+        }
+    }
+
+    public SimilarityReportDto findSimilarPairs(int assignmentId, Double threshold, HttpServletRequest request) {
+        Users loggedInInstructor = (Users) request.getSession().getAttribute("user");
+        if (loggedInInstructor == null) {
+            throw new IllegalArgumentException("No logged in user is found.");
+        }
+        if (loggedInInstructor.getUserTypeId() == null || loggedInInstructor.getUserTypeId().getUserTypeId() != 3) {
+            throw new IllegalArgumentException("Logged-in user is not an instructor.");
+        }
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment with ID " + assignmentId + " not found."));
+        if (assignment.getCourseID().getInstructorId().getUserAccountId() != loggedInInstructor.getUserId()) {
+            throw new IllegalArgumentException("Logged-in instructor does not have access for this assignment submissions.");
+        }
+        double minimum = threshold == null ? DEFAULT_THRESHOLD : threshold;
+        if (minimum <= 0 || minimum > 1) {
+            throw new IllegalArgumentException("Threshold must be greater than 0 and at most 1.");
+        }
+
+        // submissions uploaded before signatures existed, or dropped from a full queue
+        List<Object[]> unsigned = signatureRepository.findUnsignedSubmissions(assignmentId);
+        for (Object[] row : unsigned) {
+            submitted(((Number) row[0]).intValue(), assignmentId, ((Number) row[1]).intValue(), (String) row[2]);
+        }
+
+        AssignmentIndex index = index(assignmentId);
+        return new SimilarityReportDto(assignmentId, index.size(), unsigned.size(), index.similarPairs(minimum));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private AssignmentIndex index(int assignmentId) {
+        return indexes.computeIfAbsent(assignmentId, id -> {
+            AssignmentIndex index = new AssignmentIndex();
+            for (SubmissionSignature signature : signatureRepository.findByAssignmentId(id)) {
+                index.add(signature);
+            }
+            return index;
+        });
+    }
+
+    private void analyze(int submissionId, int assignmentId, int studentId, String filePath) {
+        if (signatureRepository.existsById(submissionId)) {
+            return;
+        }
+        MinHash.Builder builder = MinHash.builder(SHINGLE_SIZE);
+        try {
+            String text = readText(submissionStore.resolve(filePath));
+            if (text != null) {
+                for (String token : ShortAnswerMatcher.normalize(text).split(" ")) {
+                    if (!token.isEmpty()) {
+                        builder.add(MinHash.hash(token));
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // unreadable files are recorded with no shingles so they are not retried forever
+        }
+        SubmissionSignature signature = new SubmissionSignature(submissionId, assignmentId, studentId,
+                builder.getShingleCount(), MinHash.encode(builder.build()));
+        signatureRepository.save(signature);
+        AssignmentIndex index = indexes.get(assignmentId);
+        if (index != null) {
+            index.add(signature);
+        }
+    }
+
+    // plain text formats and .docx; anything else (PDF, images, archives) is not compared
+    private static String readText(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        String extension = ContentAddressedStore.extensionOf(file.getFileName().toString());
+        if (TEXT_EXTENSIONS.contains(extension)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                return readLimited(in);
+            }
+        }
+        if (extension.equals(".docx")) {
+            try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(file))) {
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    if (entry.getName().equals("word/document.xml")) {
+                        return XML_TAG.matcher(readLimited(zip)).replaceAll(" ");
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // bounded so a huge or highly compressed file cannot exhaust the heap
+    private static String readLimited(InputStream in) throws IOException {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while (text.length() < MAX_TEXT_CHARS && (read = reader.read(buffer, 0, Math.min(buffer.length, MAX_TEXT_CHARS - text.length()))) != -1) {
+            text.append(buffer, 0, read);
+        }
+        return text.toString();
+    }
+
+    private static final class AssignmentIndex {
+        private final Map<Integer, int[]> signatures = new HashMap<>();
+        private final Map<Integer, Integer> students = new HashMap<>();
+        private final Map<Long, List<Integer>> buckets = new HashMap<>();
+
+        synchronized void add(SubmissionSignature signature) {
+            if (signature.getShingleCount() < MIN_SHINGLES || signatures.containsKey(signature.getSubmissionId())) {
+                return;
+            }
+            int[] values = MinHash.decode(signature.getSignature());
+            signatures.put(signature.getSubmissionId(), values);
+            students.put(signature.getSubmissionId(), signature.getStudentId());
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                buckets.computeIfAbsent(MinHash.bandKey(values, band), k -> new ArrayList<>()).add(signature.getSubmissionId());
+            }
+        }
+
+        synchronized int size() {
+            return signatures.size();
+        }
+
+        synchronized List<SimilarPairDto> similarPairs(double threshold) {
+            Set<Long> compared = new HashSet<>();
+            List<SimilarPairDto> pairs = new ArrayList<>();
+            for (List<Integer> bucket : buckets.values()) {
+                if (bucket.size() < 2 || bucket.size() > MAX_BUCKET_SIZE) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size(); i++) {
+                    for (int j = i + 1; j < bucket.size(); j++) {
+                        int a = Math.min(bucket.get(i), bucket.get(j));
+                        int b = Math.max(bucket.get(i), bucket.get(j));
+                        if (!compared.add(((long) a << 32) | b)) {
+                            continue;
+                        }
+                        double similarity = MinHash.similarity(signatures.get(a), signatures.get(b));
+                        if (similarity >= threshold) {
+                            pairs.add(new SimilarPairDto(students.get(a), students.get(b), similarity));
+                        }
+                    }
+                }
+            }
+            pairs.sort(Comparator.comparingDouble(SimilarPairDto::getSimilarity).reversed());
+            return pairs;
+        }
+    }
+}
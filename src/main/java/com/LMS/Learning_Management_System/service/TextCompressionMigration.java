@@ -0,0 +1,89 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.util.CompressedTextConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compresses text written before {@link CompressedTextConverter} was introduced.
+ * <p>
+ * Runs once per start in a background thread and walks each table by primary key in batches,
+ * selecting only long values that are not compressed yet, so later runs are cheap. Each update
+ * is conditional on the old value, so a row edited in the meantime is left to the converter.
+ */
+@Service
+public class TextCompressionMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(TextCompressionMigration.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public TextCompressionMigration(JdbcTemplate jdbcTemplate,
+                                    @Value("${lms.text-compression.migrate-on-startup:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                int lessons = migrate("lesson", "lesson_id", "content");
+                int courses = migrate("course", "course_id", "description");
+                if (lessons + courses > 0) {
+                    logger.info("Compressed {} lesson contents and {} course descriptions", lessons, courses);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Text compression migration stopped", e);
+            }
+        }, "text-compression-migration");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    // table and column names are constants from this class, never user input
+    int migrate(String table, String idColumn, String column) {
+        String select = "SELECT " + idColumn + ", " + column + " FROM " + table + " WHERE " + idColumn + " > ? AND CHAR_LENGTH("
+                + column + ") >= ? AND " + column + " NOT LIKE ? ORDER BY " + idColumn + " LIMIT " + BATCH_SIZE;
+        String update = "UPDATE " + table + " SET " + column + " = ? WHERE " + idColumn + " = ? AND " + column + " = ?";
+        String notCompressed = CompressedTextConverter.PREFIX + "%";
+        int migrated = 0;
+        int lastId = 0;
+        while (true) {
+            List<Object[]> rows = new ArrayList<>();
+            jdbcTemplate.query(select, resultSet -> {
+                rows.add(new Object[]{resultSet.getInt(1), resultSet.getString(2)});
+            }, lastId, CompressedTextConverter.THRESHOLD_CHARS, notCompressed);
+            if (rows.isEmpty()) {
+                return migrated;
+            }
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                String plain = (String) row[1];
+                String stored = CompressedTextConverter.compress(plain);
+                if (!stored.equals(plain)) {
+                    updates.add(new Object[]{stored, row[0], plain});
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(update, updates);
+                migrated += updates.size();
+            }
+            lastId = (int) rows.get(rows.size() - 1)[0];
+        }
+    }
+}
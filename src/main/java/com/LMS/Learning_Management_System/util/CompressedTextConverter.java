@@ -0,0 +1,97 @@
+package com.LMS.Learning_Management_System.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores long text columns deflated.
+ * <p>
+ * Values of at least {@link #THRESHOLD_CHARS} characters are deflated and kept as
+ * {@value #PREFIX} followed by Base64, but only when that is actually shorter. Everything else
+ * is stored as is, so existing rows keep reading correctly and can be migrated at leisure.
+ * Plain text that happens to start with the prefix is always stored compressed, which keeps
+ * reading unambiguous.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    public static final String PREFIX = "{deflate}";
+    public static final int THRESHOLD_CHARS = 1024;
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return decompress(dbData);
+    }
+
+    public static String compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (isCompressed(text)) {
+            return deflate(text);
+        }
+        if (text.length() < THRESHOLD_CHARS) {
+            return text;
+        }
+        String compressed = deflate(text);
+        return compressed.length() < text.length() ? compressed : text;
+    }
+
+    public static String decompress(String stored) {
+        if (stored == null || !isCompressed(stored)) {
+            return stored;
+        }
+        byte[] input = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    private static String deflate(String text) {
+        byte[] input = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.LMS.Learning_Management_System.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Stores files under their SHA-256 digest ({@code ab/cd/<digest><ext>}).
+ * Uploads are streamed through a direct buffer into a temp file while the digest is computed
+ * in the same pass; identical content is stored only once.
+ */
+public class ContentAddressedStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tempDirectory;
+    private final long maxBytes;
+
+    public ContentAddressedStore(Path root, long maxBytes) {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDirectory = this.root.resolve("tmp");
+        this.maxBytes = maxBytes;
+    }
+
+    public StoredFile store(InputStream in, String extension) throws IOException {
+        SpooledFile spooled = spool(in);
+        try {
+            return commit(spooled.getFile(), spooled.getDigest(), extension, spooled.getSize());
+        } finally {
+            Files.deleteIfExists(spooled.getFile());
+        }
+    }
+
+    // writes the stream to a temp file under the store and hashes it; the caller commits or deletes it
+    public SpooledFile spool(InputStream in) throws IOException {
+        Files.createDirectories(tempDirectory);
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        boolean spooled = false;
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException("File exceeds the maximum allowed size of " + maxBytes + " bytes");
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            spooled = true;
+            return new SpooledFile(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            if (!spooled) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // digest of a file that is already on disk, e.g. one assembled from chunks
+    public static String digestOf(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE * 16);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // moves a fully written file into the store; the caller passes the digest it computed
+    public StoredFile commit(Path file, String digest, String extension, long size) throws IOException {
+        String relativePath = relativePath(digest, extension);
+        Path target = root.resolve(relativePath);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(file);
+            return new StoredFile(digest, relativePath, size, true);
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // a concurrent upload of the same content won the race
+            Files.deleteIfExists(file);
+            return new StoredFile(digest, relativePath, size, true);
+        }
+        return new StoredFile(digest, relativePath, size, false);
+    }
+
+    public static String relativePath(String digest, String extension) {
+        return digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest + (extension == null ? "" : extension);
+    }
+
+    public Path resolve(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid file path");
+        }
+        return path;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // ".pdf" style extension from a user supplied file name, or "" when there is no safe one
+    public static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        if (dot < 0 || dot == filename.length() - 1) {
+            return "";
+        }
+        String extension = filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (extension.length() > 10 || !extension.matches("[a-z0-9]+")) {
+            return "";
+        }
+        return "." + extension;
+    }
+
+    public static class SpooledFile {
+        private final Path file;
+        private final String digest;
+        private final long size;
+
+        public SpooledFile(Path file, String digest, long size) {
+            this.file = file;
+            this.digest = digest;
+            this.size = size;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public String getDigest() {
+            return digest;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+
+    public static class StoredFile {
+        private final String digest;
+        private final String relativePath;
+        private final long size;
+        private final boolean deduplicated;
+
+        public StoredFile(String digest, String relativePath, long size, boolean deduplicated) {
+            this.digest = digest;
+            this.relativePath = relativePath;
+            this.size = size;
+            this.deduplicated = deduplicated;
+        }
+
+        public String getDigest() {
+            return digest;
+        }
+
+        public String getRelativePath() {
+            return relativePath;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public boolean isDeduplicated() {
+            return deduplicated;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.LMS.Learning_Management_System.util;
+
+public final class Csv {
+
+    private Csv() {
+    }
+
+    // quotes when needed and defuses values a spreadsheet would treat as a formula
+    public static String field(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,240 @@
+package com.LMS.Learning_Management_System.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Off-heap byte cache on memory-mapped, append-only segment files.
+ * <p>
+ * Values are appended to the current segment and the heap only holds the index from key to
+ * (segment, offset, length, version). The version is the caller's, and a put never replaces a
+ * value with a newer version, so a slow reader cannot overwrite a fresh write. Removing a key
+ * leaves a heap-only tombstone at the caller's version that later puts must beat, so a reader
+ * that loaded the value before it was removed cannot put it back. Reads are lock-free read-only
+ * slices of the mapping, so a body is never copied onto the heap. Replacing or removing a value only marks its bytes
+ * dead; when the store is full it is compacted into fresh segments if enough is dead, and
+ * otherwise the oldest segment is dropped with everything in it. The files are a cache and are
+ * cleared on start.
+ */
+public final class MappedContentStore {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Map<Integer, Location> index = new ConcurrentHashMap<>();
+    // key -> version it was removed at; guarded by this
+    private final Map<Integer, Long> tombstones = new HashMap<>();
+    // guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    private long deadBytes;
+    private int nextSegmentId;
+
+    public MappedContentStore(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        if (segmentBytes <= 0 || maxBytes < segmentBytes) {
+            throw new IllegalArgumentException("The store must hold at least one positive-size segment.");
+        }
+        this.directory = directory.toAbsolutePath().normalize();
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.min(Integer.MAX_VALUE, maxBytes / segmentBytes);
+        Files.createDirectories(this.directory);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(this.directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stale) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public Entry get(int key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        return new Entry(location.tag, location.version,
+                location.segment.buffer.slice(location.offset, location.length).asReadOnlyBuffer());
+    }
+
+    // stores a copy of the value; false when it is larger than a segment, older than the cached one or not newer than its removal
+    public synchronized boolean put(int key, int tag, long version, byte[] value) {
+        Location current = index.get(key);
+        if (current != null && current.version > version) {
+            return false;
+        }
+        Long removedAt = tombstones.get(key);
+        if (removedAt != null) {
+            if (removedAt >= version) {
+                return false;
+            }
+            tombstones.remove(key);
+        }
+        if (value.length > segmentBytes) {
+            unindex(key);
+            return false;
+        }
+        Segment segment = segmentFor(value.length);
+        int offset = segment.used;
+        segment.buffer.put(offset, value);
+        segment.used += value.length;
+        Location previous = index.put(key, new Location(segment, offset, value.length, tag, version));
+        if (previous != null) {
+            deadBytes += previous.length;
+        }
+        return true;
+    }
+
+    // puts at or below the version are refused from now on; Long.MAX_VALUE removes the key for good
+    public synchronized void remove(int key, long version) {
+        unindex(key);
+        tombstones.merge(key, version, Math::max);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void unindex(int key) {
+        Location previous = index.remove(key);
+        if (previous != null) {
+            deadBytes += previous.length;
+        }
+    }
+
+    private Segment segmentFor(int length) {
+        Segment current = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (current != null && current.used + length <= segmentBytes) {
+            return current;
+        }
+        if (segments.size() >= maxSegments) {
+            long capacity = (long) segments.size() * segmentBytes;
+            if (deadBytes * 4 >= capacity) {
+                compact();
+                current = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (current != null && current.used + length <= segmentBytes) {
+                    return current;
+                }
+            }
+            while (segments.size() >= maxSegments) {
+                dropOldest();
+            }
+        }
+        Segment segment = newSegment();
+        segments.add(segment);
+        return segment;
+    }
+
+    // rewrites every live value into fresh segments; readers holding old slices keep their mapping
+    private void compact() {
+        List<Segment> old = new ArrayList<>(segments);
+        segments.clear();
+        for (Map.Entry<Integer, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            Segment current = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (current == null || current.used + location.length > segmentBytes) {
+                current = newSegment();
+                segments.add(current);
+            }
+            int offset = current.used;
+            current.buffer.put(offset, location.segment.buffer, location.offset, location.length);
+            current.used += location.length;
+            entry.setValue(new Location(current, offset, location.length, location.tag, location.version));
+        }
+        deadBytes = 0;
+        old.forEach(this::delete);
+    }
+
+    private void dropOldest() {
+        Segment oldest = segments.remove(0);
+        index.values().removeIf(location -> location.segment == oldest);
+        deadBytes = 0;
+        for (Segment segment : segments) {
+            deadBytes += segment.used;
+        }
+        for (Location location : index.values()) {
+            deadBytes -= location.length;
+        }
+        delete(oldest);
+    }
+
+    private Segment newSegment() {
+        Path file = directory.resolve(nextSegmentId++ + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map cache segment " + file, e);
+        }
+    }
+
+    // the mapping stays valid for slices still in use and is released once they are collected
+    private void delete(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            // removed on the next start
+        }
+    }
+
+    public static final class Entry {
+        private final int tag;
+        private final long version;
+        private final ByteBuffer body;
+
+        Entry(int tag, long version, ByteBuffer body) {
+            this.tag = tag;
+            this.version = version;
+            this.body = body;
+        }
+
+        public int getTag() {
+            return tag;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public ByteBuffer getBody() {
+            return body;
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int used;
+
+        Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final int tag;
+        private final long version;
+
+        Location(Segment segment, int offset, int length, int tag, long version) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.tag = tag;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.LMS.Learning_Management_System.util;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders the Markdown subset used in lesson content to HTML.
+ * <p>
+ * Supported: ATX headings, paragraphs, block quotes, bullet and numbered lists, fenced code,
+ * horizontal rules, and inline code, strong, emphasis, links and images. The output is safe by
+ * construction: every piece of source text is escaped, raw HTML is shown as text, only the
+ * tags emitted here can appear, and link targets are limited to http(s), mailto and relative
+ * URLs.
+ */
+public final class MarkdownRenderer {
+
+    private static final Pattern HEADING = Pattern.compile("^(#{1,6})\\s+(.*?)\\s*#*\\s*$");
+    private static final Pattern BULLET = Pattern.compile("^\\s{0,3}[-*+]\\s+(.*)$");
+    private static final Pattern NUMBERED = Pattern.compile("^\\s{0,3}\\d{1,9}[.)]\\s+(.*)$");
+    private static final Pattern RULE = Pattern.compile("^\\s{0,3}([-*_])(\\s*\\1){2,}\\s*$");
+    private static final Pattern FENCE = Pattern.compile("^\\s{0,3}(```|~~~)\\s*([A-Za-z0-9+#-]*).*$");
+    private static final Pattern SCHEME = Pattern.compile("^[A-Za-z][A-Za-z0-9+.-]*:");
+
+    private MarkdownRenderer() {
+    }
+
+    public static String toHtml(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        String[] lines = markdown.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+        StringBuilder html = new StringBuilder(markdown.length() + markdown.length() / 4);
+        StringBuilder paragraph = new StringBuilder();
+        String list = null;
+        int i = 0;
+        while (i < lines.length) {
+            String line = lines[i];
+            Matcher fence = FENCE.matcher(line);
+            Matcher heading = HEADING.matcher(line);
+            Matcher bullet = BULLET.matcher(line);
+            Matcher numbered = NUMBERED.matcher(line);
+            String listItem = bullet.matches() ? "ul" : numbered.matches() ? "ol" : null;
+
+            if (line.isBlank() || fence.matches() || heading.matches() || RULE.matcher(line).matches()
+                    || line.trim().startsWith(">") || listItem != null) {
+                flushParagraph(html, paragraph);
+            }
+            if (list != null && !list.equals(listItem)) {
+                html.append("</").append(list).append(">\n");
+                list = null;
+            }
+
+            if (line.isBlank()) {
+                i++;
+            } else if (fence.matches()) {
+                String marker = fence.group(1);
+                String language = fence.group(2).toLowerCase(Locale.ROOT);
+                html.append(language.isEmpty() ? "<pre><code>" : "<pre><code class=\"language-" + language + "\">");
+                i++;
+                boolean first = true;
+                while (i < lines.length && !lines[i].trim().startsWith(marker)) {
+                    if (!first) {
+                        html.append('\n');
+                    }
+                    escape(html, lines[i]);
+                    first = false;
+                    i++;
+                }
+                html.append("</code></pre>\n");
+                i++;
+            } else if (heading.matches()) {
+                int level = heading.group(1).length();
+                html.append("<h").append(level).append('>');
+                inline(html, heading.group(2));
+                html.append("</h").append(level).append(">\n");
+                i++;
+            } else if (RULE.matcher(line).matches()) {
+                html.append("<hr>\n");
+                i++;
+            } else if (line.trim().startsWith(">")) {
+                StringBuilder quote = new StringBuilder();
+                while (i < lines.length && lines[i].trim().startsWith(">")) {
+                    String text = lines[i].trim().substring(1).trim();
+                    if (quote.length() > 0) {
+                        quote.append(' ');
+                    }
+                    quote.append(text);
+                    i++;
+                }
+                html.append("<blockquote><p>");
+                inline(html, quote.toString());
+                html.append("</p></blockquote>\n");
+            } else if (listItem != null) {
+                if (list == null) {
+                    list = listItem;
+                    html.append('<').append(list).append(">\n");
+                }
+                html.append("<li>");
+                inline(html, (listItem.equals("ul") ? bullet : numbered).group(1));
+                html.append("</li>\n");
+                i++;
+            } else {
+                if (paragraph.length() > 0) {
+                    paragraph.append('\n');
+                }
+                paragraph.append(line.trim());
+                i++;
+            }
+        }
+        flushParagraph(html, paragraph);
+        if (list != null) {
+            html.append("</").append(list).append(">\n");
+        }
+        return html.toString();
+    }
+
+    private static void flushParagraph(StringBuilder html, StringBuilder paragraph) {
+        if (paragraph.length() == 0) {
+            return;
+        }
+        html.append("<p>");
+        inline(html, paragraph.toString());
+        html.append("</p>\n");
+        paragraph.setLength(0);
+    }
+
+    private static void inline(StringBuilder html, String text) {
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length() && isPunctuation(text.charAt(i + 1))) {
+                escape(html, text.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+            if (c == '`') {
+                int end = text.indexOf('`', i + 1);
+                if (end > i + 1) {
+                    html.append("<code>");
+                    escape(html, text.substring(i + 1, end));
+                    html.append("</code>");
+                    i = end + 1;
+                    continue;
+                }
+            }
+            if (c == '!' && text.startsWith("[", i + 1)) {
+                int next = link(html, text, i + 1, true);
+                if (next > 0) {
+                    i = next;
+                    continue;
+                }
+            }
+            if (c == '[') {
+                int next = link(html, text, i, false);
+                if (next > 0) {
+                    i = next;
+                    continue;
+                }
+            }
+            if ((c == '*' || c == '_') && text.startsWith(String.valueOf(c) + c, i)) {
+                int end = text.indexOf(String.valueOf(c) + c, i + 2);
+                if (end > i + 2) {
+                    html.append("<strong>");
+                    inline(html, text.substring(i + 2, end));
+                    html.append("</strong>");
+                    i = end + 2;
+                    continue;
+                }
+            }
+            if ((c == '*' || c == '_') && i + 1 < text.length() && !Character.isWhitespace(text.charAt(i + 1))
+                    && (c == '*' || i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                int end = text.indexOf(c, i + 1);
+                if (end > i + 1 && !Character.isWhitespace(text.charAt(end - 1))) {
+                    html.append("<em>");
+                    inline(html, text.substring(i + 1, end));
+                    html.append("</em>");
+                    i = end + 1;
+                    continue;
+                }
+            }
+            if (c == '\n') {
+                html.append('\n');
+            } else {
+                escape(html, c);
+            }
+            i++;
+        }
+    }
+
+    // [label](url) starting at the bracket; returns the index after it, or -1 when it is not a link
+    private static int link(StringBuilder html, String text, int open, boolean image) {
+        int close = text.indexOf("](", open + 1);
+        if (close < 0) {
+            return -1;
+        }
+        int end = text.indexOf(')', close + 2);
+        if (end < 0) {
+            return -1;
+        }
+        String label = text.substring(open + 1, close);
+        String url = text.substring(close + 2, end).trim();
+        if (!isSafeUrl(url)) {
+            return -1;
+        }
+        if (image) {
+            html.append("<img src=\"");
+            escape(html, url);
+            html.append("\" alt=\"");
+            escape(html, label);
+            html.append("\">");
+        } else {
+            html.append("<a href=\"");
+            escape(html, url);
+            html.append("\" rel=\"nofollow noopener\">");
+            inline(html, label);
+            html.append("</a>");
+        }
+        return end + 1;
+    }
+
+    private static boolean isSafeUrl(String url) {
+        if (url.isEmpty() || url.chars().anyMatch(ch -> Character.isWhitespace(ch) || Character.isISOControl(ch))) {
+            return false;
+        }
+        if (!SCHEME.matcher(url).find()) {
+            return true;
+        }
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.startsWith("http://") || lower.startsWith("https://") || lower.startsWith("mailto:");
+    }
+
+    private static boolean isPunctuation(char c) {
+        return "\\`*_{}[]()#+-.!>~|".indexOf(c) >= 0;
+    }
+
+    private static void escape(StringBuilder html, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            escape(html, text.charAt(i));
+        }
+    }
+
+    private static void escape(StringBuilder html, char c) {
+        switch (c) {
+            case '&' -> html.append("&amp;");
+            case '<' -> html.append("&lt;");
+            case '>' -> html.append("&gt;");
+            case '"' -> html.append("&quot;");
+            case '\'' -> html.append("&#39;");
+            default -> html.append(c);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.LMS.Learning_Management_System.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * MinHash signatures over word shingles, and the LSH band keys derived from them.
+ * <p>
+ * The {@link #SIGNATURE_SIZE} hash functions are simulated from two base hashes per shingle
+ * ({@code h1 + i * h2}), so a shingle costs two mixes plus one multiply-add per function.
+ * Duplicate shingles do not change a minimum, so they need no de-duplication.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_SIZE = 128;
+    public static final int BANDS = 32;
+    public static final int ROWS_PER_BAND = SIGNATURE_SIZE / BANDS;
+
+    private MinHash() {
+    }
+
+    public static Builder builder(int shingleSize) {
+        return new Builder(shingleSize);
+    }
+
+    // fraction of equal slots, an unbiased estimate of the Jaccard similarity of the shingle sets
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    // two signatures share a band key when all rows of that band agree
+    public static long bandKey(int[] signature, int band) {
+        long h = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            h = mix(h * 31 + signature[row]);
+        }
+        return h;
+    }
+
+    public static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_SIZE * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] decode(byte[] bytes) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    public static long hash(String token) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            h ^= token.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Feeds token hashes one at a time; every window of {@code shingleSize} consecutive tokens is a shingle.
+     */
+    public static final class Builder {
+        private final long[] window;
+        private final int[] minimums = new int[SIGNATURE_SIZE];
+        private int tokens;
+        private int shingles;
+
+        private Builder(int shingleSize) {
+            this.window = new long[shingleSize];
+            Arrays.fill(minimums, Integer.MAX_VALUE);
+        }
+
+        public void add(long tokenHash) {
+            window[tokens % window.length] = tokenHash;
+            tokens++;
+            if (tokens < window.length) {
+                return;
+            }
+            long shingle = 0;
+            for (int i = tokens - window.length; i < tokens; i++) {
+                shingle = shingle * 0x9E3779B97F4A7C15L + window[i % window.length];
+            }
+            long h1 = mix(shingle);
+            long h2 = mix(shingle ^ 0x5DEECE66DL) | 1;
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int value = (int) ((h1 + i * h2) >>> 32);
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+            shingles++;
+        }
+
+        public int getShingleCount() {
+            return shingles;
+        }
+
+        public int[] build() {
+            return minimums.clone();
+        }
+    }
+}
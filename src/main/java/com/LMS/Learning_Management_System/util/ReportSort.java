@@ -0,0 +1,42 @@
+package com.LMS.Learning_Management_System.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds a {@link Pageable} for report endpoints from user supplied sort keys.
+ * Only whitelisted keys are accepted and mapped to entity paths, so a request can never sort by
+ * an arbitrary (or unindexed) column; the student id is always appended to keep pages stable.
+ */
+public final class ReportSort {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private ReportSort() {
+    }
+
+    public static Pageable pageable(int page, int size, String sort, String direction,
+                                    Map<String, String> allowed, String studentIdPath) {
+        String key = sort == null || sort.isBlank() ? "student_id" : sort.trim().toLowerCase(Locale.ROOT);
+        String path = allowed.get(key);
+        if (path == null) {
+            throw new IllegalArgumentException("Unknown sort key '" + sort + "', expected one of " + allowed.keySet());
+        }
+        Sort.Direction order;
+        if (direction == null || direction.isBlank()) {
+            order = Sort.Direction.ASC;
+        } else {
+            order = Sort.Direction.fromOptionalString(direction.trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Direction must be asc or desc"));
+        }
+        Sort by = Sort.by(order, path);
+        if (!path.equals(studentIdPath)) {
+            by = by.and(Sort.by(Sort.Direction.ASC, studentIdPath));
+        }
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), by);
+    }
+}
@@ -0,0 +1,47 @@
+package com.LMS.Learning_Management_System.util;
+
+/**
+ * Deterministic per-(quiz, student) permutations.
+ * The permutation is recomputed from the seed whenever it is needed, so nothing is stored
+ * and the grading side can map answers back to the shared question order.
+ */
+public final class StudentShuffle {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long OPTIONS_SALT = 0x5DEECE66DL;
+
+    private StudentShuffle() {
+    }
+
+    public static long questionSeed(int quizId, int studentId) {
+        return mix(((long) quizId << 32) ^ (studentId & 0xffffffffL));
+    }
+
+    public static long optionSeed(long questionSeed, int questionId) {
+        return mix(questionSeed ^ OPTIONS_SALT ^ ((long) questionId * GOLDEN_GAMMA));
+    }
+
+    // permutation[displayPosition] = original index
+    public static int[] permutation(int size, long seed) {
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        long state = seed;
+        for (int i = size - 1; i > 0; i--) {
+            state += GOLDEN_GAMMA;
+            int j = (int) Long.remainderUnsigned(mix(state), i + 1L);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        return permutation;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
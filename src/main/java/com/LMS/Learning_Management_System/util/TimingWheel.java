@@ -0,0 +1,130 @@
+package com.LMS.Learning_Management_System.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@link #LEVELS} wheels of {@link #SLOTS} slots each, so with a one
+ * second tick the wheels cover about 194 days and anything later waits in an overflow list.
+ * <p>
+ * A timeout sits on the lowest level whose current block also contains its deadline; when the
+ * clock enters a new block of a higher level, that level's slot is cascaded down. Scheduling and
+ * cancelling are O(1) and a tick only touches the timeouts that are due or cascading.
+ * Not thread-safe; callers synchronize.
+ */
+public final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Timeout<T>>> wheels = new ArrayList<>();
+    private List<Timeout<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            wheels.add(new ArrayList<>());
+        }
+    }
+
+    // deadlines in the past fire on the next tick
+    public Timeout<T> schedule(long deadlineMillis, T task) {
+        Timeout<T> timeout = new Timeout<>(Math.max(deadlineMillis / tickMillis, currentTick + 1), task);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public void cancel(Timeout<T> timeout) {
+        if (timeout != null && !timeout.cancelled) {
+            timeout.cancelled = true;
+            size--;
+        }
+    }
+
+    // runs every tick up to nowMillis and hands due tasks to the consumer in deadline order
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+                List<Timeout<T>> pending = overflow;
+                overflow = new ArrayList<>();
+                replace(pending);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    List<Timeout<T>> slot = slot(level, currentTick);
+                    List<Timeout<T>> pending = new ArrayList<>(slot);
+                    slot.clear();
+                    replace(pending);
+                }
+            }
+            List<Timeout<T>> due = slot(0, currentTick);
+            if (due.isEmpty()) {
+                continue;
+            }
+            List<Timeout<T>> fired = new ArrayList<>(due);
+            due.clear();
+            for (Timeout<T> timeout : fired) {
+                if (!timeout.cancelled) {
+                    timeout.cancelled = true;
+                    size--;
+                    expired.accept(timeout.task);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void replace(List<Timeout<T>> pending) {
+        for (Timeout<T> timeout : pending) {
+            if (!timeout.cancelled) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((timeout.deadlineTick >>> shift) == (currentTick >>> shift)) {
+                slot(level, timeout.deadlineTick).add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    private List<Timeout<T>> slot(int level, long tick) {
+        return wheels.get(level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+    }
+
+    public static final class Timeout<T> {
+        private final long deadlineTick;
+        private final T task;
+        private boolean cancelled;
+
+        private Timeout(long deadlineTick, T task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        public T getTask() {
+            return task;
+        }
+    }
+}
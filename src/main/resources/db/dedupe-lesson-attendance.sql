@@ -0,0 +1,17 @@
+-- One-off cleanup before uk_lesson_attendance_student can be added.
+--
+-- Check-ins recorded before the key existed may contain the same (lesson, student) pair more
+-- than once. This keeps the earliest row of each pair and adds the key. It is not run by the
+-- application: review the rows reported by the first query, take a backup, then run the rest
+-- by hand. SchemaMigration adds the key on its own at the next startup once no duplicates remain.
+
+SELECT lesson_id, student_id, COUNT(*) AS check_ins
+FROM lesson_attendance
+GROUP BY lesson_id, student_id
+HAVING COUNT(*) > 1;
+
+DELETE a FROM lesson_attendance a
+JOIN lesson_attendance b
+  ON a.lesson_id = b.lesson_id AND a.student_id = b.student_id AND a.attendance_id > b.attendance_id;
+
+ALTER TABLE lesson_attendance ADD UNIQUE KEY uk_lesson_attendance_student (lesson_id, student_id);
@@ -0,0 +1,62 @@
+package com.LMS.Learning_Management_System;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal timing harness for the benchmark tests.
+ * <p>
+ * Timing tests only run with {@code mvn test -Dbenchmarks=true}; the plain build skips them and
+ * still runs the correctness checks that sit next to them. Each measurement runs warm-up rounds
+ * first and reports the median of the measured rounds, which is enough to compare two
+ * approaches on the same machine but not a replacement for a JMH run.
+ */
+public final class BenchmarkHarness {
+
+    public static final String ENABLED_PROPERTY = "benchmarks";
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    // keeps results reachable so the JIT cannot drop the measured work
+    private static volatile Object sink;
+
+    private BenchmarkHarness() {
+    }
+
+    public static void consume(Object value) {
+        sink = value;
+    }
+
+    public static void consume(long value) {
+        sink = value;
+    }
+
+    // median nanoseconds per operation; each round performs operationsPerRound operations
+    public static double nanosPerOperation(String name, long operationsPerRound, Runnable round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+        long[] rounds = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            round.run();
+            rounds[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(rounds);
+        double nanos = (double) rounds[MEASURED_ROUNDS / 2] / operationsPerRound;
+        report(name, "%,.1f ns/op (%,.0f ops/s)", nanos, 1e9 / nanos);
+        return nanos;
+    }
+
+    public static void report(String name, String format, Object... args) {
+        System.out.printf(Locale.ROOT, "[benchmark] %-48s " + format + "%n", prepend(name, args));
+    }
+
+    private static Object[] prepend(String first, Object[] rest) {
+        Object[] all = new Object[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+}
@@ -0,0 +1,150 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.BenchmarkHarness;
+import com.LMS.Learning_Management_System.dto.LessonTurnoutDto;
+import com.LMS.Learning_Management_System.dto.StudentAttendanceDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Attendance reports for a course with 300 lessons and 5,000 enrolled students.
+ * <p>
+ * The bitset matrix is compared against the approach it replaced: load the attendance rows of
+ * every lesson ({@code findAllByLessonId}) and join them with the enrollment list in Java. Rows
+ * are held in memory on both sides, so only the join and aggregation are measured.
+ */
+class AttendanceMatrixServiceBenchmarkTest {
+
+    private static final int COURSE_ID = 1;
+    private static final int LESSONS = 300;
+    private static final int STUDENTS = 5_000;
+    // students who attended some lessons and then dropped the course
+    private static final int DROPPED = 200;
+
+    private static final Map<Integer, List<int[]>> rowsByLesson = new LinkedHashMap<>();
+    private static final List<Integer> enrolledIds = new ArrayList<>();
+    private static AttendanceMatrixService matrix;
+    private static int checkIns;
+
+    @BeforeAll
+    static void generate() {
+        // the mock answers every load query with no rows; the matrix is filled through the event methods
+        matrix = new AttendanceMatrixService(mock(JdbcTemplate.class));
+        Random random = new Random(45);
+        for (int student = 1; student <= STUDENTS + DROPPED; student++) {
+            matrix.enrolled(COURSE_ID, 10_000 + student);
+        }
+        for (int lesson = 1; lesson <= LESSONS; lesson++) {
+            int lessonId = 500 + lesson;
+            matrix.lessonAdded(COURSE_ID, lessonId);
+            List<int[]> rows = new ArrayList<>();
+            for (int student = 1; student <= STUDENTS + DROPPED; student++) {
+                // each student has their own attendance habit, between 30% and 100%
+                double habit = 0.3 + 0.7 * ((student * 7919) % 1000) / 1000.0;
+                if (random.nextDouble() < habit) {
+                    rows.add(new int[]{lessonId, 10_000 + student});
+                    matrix.recordCheckIn(COURSE_ID, lessonId, 10_000 + student);
+                    checkIns++;
+                }
+            }
+            rowsByLesson.put(lessonId, rows);
+        }
+        for (int student = 1; student <= STUDENTS + DROPPED; student++) {
+            if (student <= STUDENTS) {
+                enrolledIds.add(10_000 + student);
+            } else {
+                matrix.unenrolled(COURSE_ID, 10_000 + student);
+            }
+        }
+    }
+
+    @Test
+    void matrixMatchesPerLessonJoin() {
+        List<LessonTurnoutDto> expectedTurnout = joinTurnout();
+        List<LessonTurnoutDto> turnout = matrix.lessonTurnout(COURSE_ID);
+        assertThat(turnout).hasSize(LESSONS);
+        for (int i = 0; i < LESSONS; i++) {
+            assertThat(turnout.get(i).getLesson_id()).isEqualTo(expectedTurnout.get(i).getLesson_id());
+            assertThat(turnout.get(i).getAttended()).isEqualTo(expectedTurnout.get(i).getAttended());
+            assertThat(turnout.get(i).getEnrolled()).isEqualTo(STUDENTS);
+        }
+
+        List<StudentAttendanceDto> expectedRates = joinRates(0.75);
+        List<StudentAttendanceDto> rates = matrix.studentRates(COURSE_ID, 0.75);
+        assertThat(rates).isNotEmpty().hasSize(expectedRates.size());
+        for (int i = 0; i < rates.size(); i++) {
+            assertThat(rates.get(i).getStudent_id()).isEqualTo(expectedRates.get(i).getStudent_id());
+            assertThat(rates.get(i).getAttended()).isEqualTo(expectedRates.get(i).getAttended());
+        }
+        assertThat(matrix.studentRates(COURSE_ID, null)).hasSize(STUDENTS);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = BenchmarkHarness.ENABLED_PROPERTY, matches = "true")
+    void reportLatency() {
+        BenchmarkHarness.report("attendance: course size", "%d lessons x %,d students, %,d check-ins",
+                LESSONS, STUDENTS, checkIns);
+        double joinTurnout = BenchmarkHarness.nanosPerOperation("attendance turnout: per-lesson join", 1,
+                () -> BenchmarkHarness.consume(joinTurnout()));
+        double matrixTurnout = BenchmarkHarness.nanosPerOperation("attendance turnout: bitset matrix", 1,
+                () -> BenchmarkHarness.consume(matrix.lessonTurnout(COURSE_ID)));
+        double joinRates = BenchmarkHarness.nanosPerOperation("attendance rates < 75%: per-lesson join", 1,
+                () -> BenchmarkHarness.consume(joinRates(0.75)));
+        double matrixRates = BenchmarkHarness.nanosPerOperation("attendance rates < 75%: bitset matrix", 1,
+                () -> BenchmarkHarness.consume(matrix.studentRates(COURSE_ID, 0.75)));
+        BenchmarkHarness.report("attendance: speed-up of the matrix", "%.1fx turnout, %.1fx rates",
+                joinTurnout / matrixTurnout, joinRates / matrixRates);
+    }
+
+    private static List<LessonTurnoutDto> joinTurnout() {
+        Set<Integer> enrolled = new HashSet<>(enrolledIds);
+        List<LessonTurnoutDto> turnout = new ArrayList<>();
+        rowsByLesson.forEach((lessonId, rows) -> {
+            Set<Integer> attended = new HashSet<>();
+            for (int[] row : rows) {
+                if (enrolled.contains(row[1])) {
+                    attended.add(row[1]);
+                }
+            }
+            turnout.add(new LessonTurnoutDto(lessonId, attended.size(), enrolled.size(),
+                    (double) attended.size() / enrolled.size()));
+        });
+        return turnout;
+    }
+
+    private static List<StudentAttendanceDto> joinRates(double below) {
+        Map<Integer, Integer> attended = new HashMap<>();
+        for (List<int[]> rows : rowsByLesson.values()) {
+            for (int[] row : rows) {
+                attended.merge(row[1], 1, Integer::sum);
+            }
+        }
+        int lessons = rowsByLesson.size();
+        List<StudentAttendanceDto> result = new ArrayList<>();
+        for (Integer studentId : enrolledIds) {
+            int count = attended.getOrDefault(studentId, 0);
+            double rate = (double) count / lessons;
+            if (rate < below) {
+                result.add(new StudentAttendanceDto(studentId, count, lessons, rate));
+            }
+        }
+        result.sort(Comparator.comparingDouble(StudentAttendanceDto::getRate)
+                .thenComparingInt(StudentAttendanceDto::getStudent_id));
+        return result;
+    }
+}
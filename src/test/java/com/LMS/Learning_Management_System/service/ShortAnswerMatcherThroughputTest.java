@@ -0,0 +1,151 @@
+package com.LMS.Learning_Management_System.service;
+
+import com.LMS.Learning_Management_System.BenchmarkHarness;
+import com.LMS.Learning_Management_System.entity.Question;
+import com.LMS.Learning_Management_System.entity.QuestionType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grading throughput of {@link ShortAnswerMatcher} for an end-of-quiz submission spike.
+ * The precomputed index is compared against compiling the accepted answers on every call,
+ * which is what grading would cost without it.
+ */
+class ShortAnswerMatcherThroughputTest {
+
+    private static final int QUESTIONS = 200;
+    private static final int SUBMISSIONS = 100_000;
+    private static final String[] KEYS = {
+            "Paris|Paris, France",
+            "Café au lait|coffee with milk",
+            "3.14±0.01",
+            "Mitochondria|mitochondrion",
+            "-273.15+-0.5",
+            "Photosynthesis",
+    };
+    // key, submitted answer, expected verdict
+    private static final Object[][] CASES = {
+            {0, "  paris ", true},
+            {0, "PARIS, france.", true},
+            {0, "Lyon", false},
+            {0, "Paris France Europe", false},
+            {1, "cafe AU lait", true},
+            {1, "Coffee   with milk!", true},
+            {1, "tea", false},
+            {2, "3.141", true},
+            {2, "+3.145", true},
+            {2, "3.2", false}, // outside the tolerance
+            {2, "pi", false},
+            {3, "MITOCHONDRION", true},
+            {3, "the mitochondria", false}, // extra words are not dropped
+            {3, "ribosome", false},
+            {4, "-273", true}, // +- tolerance
+            {4, "-272.5", false},
+            {4, "-270", false},
+            {5, "Photosynthesis.", true},
+            {5, "photo-synthesis", false}, // hyphens are kept
+            {5, "respiration", false},
+    };
+
+    private static final List<Question> questions = new ArrayList<>();
+    private static final List<Question> submittedFor = new ArrayList<>();
+    private static final List<String> answers = new ArrayList<>();
+    private static final List<Boolean> expected = new ArrayList<>();
+
+    @BeforeAll
+    static void generate() {
+        QuestionType shortAnswer = new QuestionType();
+        shortAnswer.setTypeId(ShortAnswerMatcher.SHORT_ANSWER_TYPE_ID);
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = new Question();
+            question.setQuestionId(i + 1);
+            question.setQuestionType(shortAnswer);
+            question.setCorrectAnswer(KEYS[i % KEYS.length]);
+            questions.add(question);
+        }
+        Random random = new Random(26);
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            Object[] answer = CASES[random.nextInt(CASES.length)];
+            // questions i, i + KEYS.length, ... share key i
+            int question = (int) answer[0] + KEYS.length * random.nextInt(QUESTIONS / KEYS.length);
+            submittedFor.add(questions.get(question));
+            answers.add((String) answer[1]);
+            expected.add((Boolean) answer[2]);
+        }
+    }
+
+    @Test
+    void gradesCaseAccentsAlternatesAndTolerances() {
+        ShortAnswerMatcher indexed = new ShortAnswerMatcher();
+        questions.forEach(indexed::index);
+        for (Object[] answer : CASES) {
+            Question question = questions.get((int) answer[0]);
+            assertThat(indexed.matches(question, (String) answer[1]))
+                    .as("%s against %s", answer[1], question.getCorrectAnswer())
+                    .isEqualTo(answer[2]);
+            // without an index entry the key is compiled on the spot
+            assertThat(new ShortAnswerMatcher().matches(question, (String) answer[1]))
+                    .as("%s against %s, compiled per call", answer[1], question.getCorrectAnswer())
+                    .isEqualTo(answer[2]);
+        }
+    }
+
+    @Test
+    void everyGeneratedSubmissionGetsItsExpectedVerdict() {
+        ShortAnswerMatcher indexed = new ShortAnswerMatcher();
+        questions.forEach(indexed::index);
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            assertThat(indexed.matches(submittedFor.get(i), answers.get(i)))
+                    .as("%s against %s", answers.get(i), submittedFor.get(i).getCorrectAnswer())
+                    .isEqualTo(expected.get(i));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = BenchmarkHarness.ENABLED_PROPERTY, matches = "true")
+    void gradingThroughput() {
+        ShortAnswerMatcher indexed = new ShortAnswerMatcher();
+        questions.forEach(indexed::index);
+
+        double indexedNanos = BenchmarkHarness.nanosPerOperation("short answer: precomputed index", SUBMISSIONS,
+                () -> BenchmarkHarness.consume(gradeAll(indexed)));
+        double compiledNanos = BenchmarkHarness.nanosPerOperation("short answer: compile per answer", SUBMISSIONS,
+                () -> {
+                    int accepted = 0;
+                    for (int i = 0; i < SUBMISSIONS; i++) {
+                        accepted += new ShortAnswerMatcher().matches(submittedFor.get(i), answers.get(i)) ? 1 : 0;
+                    }
+                    BenchmarkHarness.consume(accepted);
+                });
+        int threads = Runtime.getRuntime().availableProcessors();
+        double parallelNanos = BenchmarkHarness.nanosPerOperation("short answer: index, " + threads + " threads",
+                SUBMISSIONS, () -> {
+                    AtomicInteger accepted = new AtomicInteger();
+                    IntStream.range(0, SUBMISSIONS).parallel().forEach(i -> {
+                        if (indexed.matches(submittedFor.get(i), answers.get(i))) {
+                            accepted.incrementAndGet();
+                        }
+                    });
+                    BenchmarkHarness.consume(accepted.get());
+                });
+        BenchmarkHarness.report("short answer: speed-up of the index", "%.1fx single thread, %.1fx on %d threads",
+                compiledNanos / indexedNanos, compiledNanos / parallelNanos, threads);
+    }
+
+    private static int gradeAll(ShortAnswerMatcher matcher) {
+        int accepted = 0;
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            accepted += matcher.matches(submittedFor.get(i), answers.get(i)) ? 1 : 0;
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,96 @@
+package com.LMS.Learning_Management_System.util;
+
+import com.LMS.Learning_Management_System.BenchmarkHarness;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Storage footprint and read latency of lesson-sized text with and without
+ * {@link CompressedTextConverter}. Footprint is the UTF-8 size of the stored column value;
+ * a read is one {@code convertToEntityAttribute} call, which is a pass-through for plain rows.
+ */
+class CompressedTextConverterBenchmarkTest {
+
+    private static final int[] SIZES = {512, 4 * 1024, 32 * 1024, 256 * 1024};
+    private static final String[] WORDS = {
+            "the", "lesson", "covers", "recursion", "and", "a", "base", "case", "function", "calls", "itself",
+            "until", "stack", "frame", "returns", "value", "students", "should", "trace", "each", "step",
+            "example", "below", "shows", "how", "to", "compute", "factorial", "of", "n", "Fibonacci", "memoize",
+            "results", "complexity", "is", "O(n)", "exercise", "café", "naïve", "résumé",
+    };
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void roundTripsLessonText() {
+        for (int size : SIZES) {
+            String text = lesson(size, size);
+            String stored = converter.convertToDatabaseColumn(text);
+            assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+            if (size < CompressedTextConverter.THRESHOLD_CHARS) {
+                assertThat(stored).isSameAs(text);
+            } else {
+                assertThat(CompressedTextConverter.isCompressed(stored)).isTrue();
+                assertThat(utf8(stored)).isLessThan(utf8(text));
+            }
+        }
+        String prefixed = CompressedTextConverter.PREFIX + "short";
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(prefixed))).isEqualTo(prefixed);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = BenchmarkHarness.ENABLED_PROPERTY, matches = "true")
+    void reportFootprintAndReadLatency() {
+        for (int size : SIZES) {
+            String text = lesson(size, size);
+            String stored = converter.convertToDatabaseColumn(text);
+            BenchmarkHarness.report("lesson text " + size + " chars: footprint", "%,d -> %,d bytes (%.0f%%)",
+                    utf8(text), utf8(stored), 100.0 * utf8(stored) / utf8(text));
+            int reads = Math.max(10, 4 * 1024 * 1024 / size);
+            double plain = BenchmarkHarness.nanosPerOperation("lesson text " + size + " chars: plain read", reads,
+                    () -> {
+                        for (int i = 0; i < reads; i++) {
+                            BenchmarkHarness.consume(converter.convertToEntityAttribute(text));
+                        }
+                    });
+            double compressed = BenchmarkHarness.nanosPerOperation("lesson text " + size + " chars: compressed read",
+                    reads, () -> {
+                        for (int i = 0; i < reads; i++) {
+                            BenchmarkHarness.consume(converter.convertToEntityAttribute(stored));
+                        }
+                    });
+            BenchmarkHarness.report("lesson text " + size + " chars: inflate cost", "%,.1f us per read",
+                    (compressed - plain) / 1000);
+        }
+    }
+
+    // Markdown with headings, paragraphs and code blocks, roughly the shape of a lesson body
+    private static String lesson(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(size + 64);
+        int section = 0;
+        while (text.length() < size) {
+            text.append("## Section ").append(++section).append("\n\n");
+            for (int paragraph = random.nextInt(3) + 1; paragraph > 0; paragraph--) {
+                for (int word = random.nextInt(60) + 20; word > 0; word--) {
+                    text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                }
+                text.append("\n\n");
+            }
+            if (random.nextBoolean()) {
+                text.append("```java\nint factorial(int n) {\n    return n <= 1 ? 1 : n * factorial(n - ")
+                        .append(random.nextInt(3) + 1).append(");\n}\n```\n\n");
+            }
+        }
+        return text.substring(0, size);
+    }
+
+    private static int utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,66 @@
+package com.LMS.Learning_Management_System.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedContentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsTheNewestVersion() throws IOException {
+        MappedContentStore store = new MappedContentStore(directory, 1024, 4096);
+
+        assertThat(store.put(1, 7, 2, bytes("fresh"))).isTrue();
+        assertThat(store.put(1, 7, 1, bytes("stale"))).isFalse();
+
+        assertThat(text(store.get(1))).isEqualTo("fresh");
+        assertThat(store.get(1).getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void refusesPutsThatDoNotBeatTheRemoval() throws IOException {
+        MappedContentStore store = new MappedContentStore(directory, 1024, 4096);
+        store.put(1, 7, 3, bytes("v3"));
+
+        store.remove(1, 3);
+
+        assertThat(store.get(1)).isNull();
+        assertThat(store.put(1, 7, 3, bytes("loaded before the removal"))).isFalse();
+        assertThat(store.get(1)).isNull();
+        assertThat(store.put(1, 7, 4, bytes("v4"))).isTrue();
+        assertThat(text(store.get(1))).isEqualTo("v4");
+    }
+
+    @Test
+    void removedForGoodNeverComesBack() throws IOException {
+        MappedContentStore store = new MappedContentStore(directory, 1024, 4096);
+        store.put(1, 7, 3, bytes("v3"));
+
+        store.remove(1, Long.MAX_VALUE);
+
+        assertThat(store.put(1, 7, 3, bytes("v3"))).isFalse();
+        assertThat(store.put(1, 7, Long.MAX_VALUE, bytes("any"))).isFalse();
+        assertThat(store.get(1)).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(MappedContentStore.Entry entry) {
+        ByteBuffer body = entry.getBody();
+        byte[] value = new byte[body.remaining()];
+        body.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
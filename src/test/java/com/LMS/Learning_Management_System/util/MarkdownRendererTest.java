@@ -0,0 +1,127 @@
+package com.LMS.Learning_Management_System.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownRendererTest {
+
+    private static final Pattern HREF_OR_SRC = Pattern.compile("(?:href|src)=\"([^\"]*)\"");
+
+    @Test
+    void rawScriptIsShownAsText() {
+        String html = MarkdownRenderer.toHtml("Hello <script>alert('x')</script> world");
+
+        assertThat(html).doesNotContain("<script");
+        assertThat(html).contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;");
+    }
+
+    @Test
+    void rawHtmlInHeadingsListsQuotesAndCodeIsEscaped() {
+        String html = MarkdownRenderer.toHtml("# <b onclick=x>t</b>\n\n- <img src=x onerror=alert(1)>\n\n"
+                + "> <iframe src=javascript:alert(1)>\n\n`<svg onload=alert(1)>`\n\n```\n<script>\n```");
+
+        assertThat(html).doesNotContain("<b ", "<img", "<iframe", "<svg", "<script");
+        assertThat(html).contains("&lt;b onclick=x&gt;", "&lt;img src=x onerror=alert(1)&gt;",
+                "&lt;iframe src=javascript:alert(1)&gt;", "<code>&lt;svg onload=alert(1)&gt;</code>",
+                "<pre><code>&lt;script&gt;</code></pre>");
+    }
+
+    @Test
+    void fenceLanguageCannotBreakOutOfTheClassAttribute() {
+        String html = MarkdownRenderer.toHtml("```js\" onmouseover=\"alert(1)\nx\n```");
+
+        assertThat(html).startsWith("<pre><code class=\"language-js\">");
+        assertThat(html).doesNotContain("onmouseover");
+    }
+
+    @Test
+    void safeLinksAndImagesAreRendered() {
+        assertThat(MarkdownRenderer.toHtml("[docs](https://example.com/a?b=1&c=2)"))
+                .isEqualTo("<p><a href=\"https://example.com/a?b=1&amp;c=2\" rel=\"nofollow noopener\">docs</a></p>\n");
+        assertThat(MarkdownRenderer.toHtml("![diagram](/media/d.png)"))
+                .isEqualTo("<p><img src=\"/media/d.png\" alt=\"diagram\"></p>\n");
+        assertThat(MarkdownRenderer.toHtml("[mail](mailto:a@example.com)"))
+                .contains("<a href=\"mailto:a@example.com\"");
+    }
+
+    @Test
+    void scriptSchemesAreNotLinkedInAnyCase() {
+        for (String url : new String[]{"javascript:alert(1)", "JaVaScRiPt:alert(1)", "JAVASCRIPT:alert(1)",
+                "vbscript:msgbox(1)", "data:text/html;base64,PHNjcmlwdD4=", "java\tscript:alert(1)"}) {
+            for (String markdown : new String[]{"[x](" + url + ")", "![x](" + url + ")"}) {
+                String html = MarkdownRenderer.toHtml(markdown);
+                assertThat(html).as(markdown).doesNotContain("<a ", "<img");
+            }
+        }
+    }
+
+    @Test
+    void entityEncodedSchemesStayInertText() {
+        for (String url : new String[]{"javascript&#58;alert(1)", "javascript&colon;alert(1)",
+                "&#106;avascript:alert(1)", "&#x6A;avascript:alert(1)", "jav&#x09;ascript:alert(1)"}) {
+            for (String markdown : new String[]{"[x](" + url + ")", "![x](" + url + ")"}) {
+                String html = MarkdownRenderer.toHtml(markdown);
+                // the & is escaped, so a browser decodes the attribute back to the literal text,
+                // which has no scheme and resolves as a relative path
+                Matcher target = HREF_OR_SRC.matcher(html);
+                while (target.find()) {
+                    String decoded = target.group(1).replace("&amp;", "&");
+                    assertThat(decoded).as(markdown).doesNotStartWithIgnoringCase("javascript:");
+                    assertThat(target.group(1)).as(markdown).doesNotContain("&#", "&colon;");
+                }
+            }
+        }
+    }
+
+    @Test
+    void quotesInUrlsCannotCloseTheAttribute() {
+        String html = MarkdownRenderer.toHtml("[x](http://a.example/\"onmouseover=\"alert(1)) "
+                + "![y](/p.png'onerror='alert(1))");
+
+        assertThat(html).contains("href=\"http://a.example/&quot;onmouseover=&quot;alert(1\"");
+        assertThat(html).contains("src=\"/p.png&#39;onerror=&#39;alert(1\"");
+        assertThat(html).doesNotContain("\"onmouseover", "'onerror");
+    }
+
+    @Test
+    void quotesInLabelsAndAltTextAreEscaped() {
+        String html = MarkdownRenderer.toHtml("![a\" onerror=\"alert(1)](/p.png) [<b>\"](/x)");
+
+        assertThat(html).contains("alt=\"a&quot; onerror=&quot;alert(1)\"");
+        assertThat(html).contains(">&lt;b&gt;&quot;</a>");
+    }
+
+    @Test
+    void nestedLinkLabelsNeverProduceNestedOrUnsafeAnchors() {
+        String outerUnsafe = MarkdownRenderer.toHtml("[[inner](http://ok.example)](javascript:alert(1))");
+        String innerUnsafe = MarkdownRenderer.toHtml("[a [b](javascript:alert(1)) c](http://ok.example)");
+        String imageInLabel = MarkdownRenderer.toHtml("[![i](javascript:alert(1))](http://ok.example)");
+
+        for (String html : new String[]{outerUnsafe, innerUnsafe, imageInLabel}) {
+            assertThat(countOf(html, "<a ")).as(html).isLessThanOrEqualTo(1);
+            assertThat(html).as(html).doesNotContain("href=\"javascript", "src=\"javascript", "<img");
+            Matcher target = HREF_OR_SRC.matcher(html);
+            while (target.find()) {
+                assertThat(target.group(1)).as(html).doesNotContainIgnoringCase("javascript");
+            }
+        }
+    }
+
+    @Test
+    void emphasisInsideLinkLabelsIsRenderedInsideTheAnchor() {
+        assertThat(MarkdownRenderer.toHtml("[**bold** <i>](https://example.com)"))
+                .isEqualTo("<p><a href=\"https://example.com\" rel=\"nofollow noopener\"><strong>bold</strong> &lt;i&gt;</a></p>\n");
+    }
+
+    private static int countOf(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,154 @@
+package com.LMS.Learning_Management_System.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    // with a 1 ms tick: level 0 spans 64 ticks, level 1 4096, level 2 262144, level 3 16777216
+    private static final long LEVEL_1 = 1L << 6;
+    private static final long LEVEL_2 = 1L << 12;
+    private static final long LEVEL_3 = 1L << 18;
+    private static final long OVERFLOW = 1L << 24;
+
+    @Test
+    void firesEachDeadlineOnItsOwnTickAcrossEveryLevelAndOverflow() {
+        long[] deadlines = {1, 5, LEVEL_1 - 1, LEVEL_1, LEVEL_1 + 1, LEVEL_2 - 1, LEVEL_2, LEVEL_2 + 1,
+                LEVEL_3 - 1, LEVEL_3, LEVEL_3 + 1, 5 * LEVEL_3 + 17, OVERFLOW - 1, OVERFLOW, OVERFLOW + 1,
+                OVERFLOW + LEVEL_3 + LEVEL_2 + LEVEL_1 + 3, 2 * OVERFLOW + 7};
+
+        assertFiresOnTime(0, deadlines);
+    }
+
+    @Test
+    void firesOnTimeWhenStartingJustBeforeHigherLevelBoundaries() {
+        long start = 3 * LEVEL_3 - 10;
+        long[] deadlines = {start + 5, 3 * LEVEL_3, 3 * LEVEL_3 + 1, 3 * LEVEL_3 + LEVEL_1, 4 * LEVEL_3 - 1,
+                OVERFLOW - 1, OVERFLOW, OVERFLOW + LEVEL_2 + 9};
+
+        assertFiresOnTime(start, deadlines);
+    }
+
+    @Test
+    void oneLargeAdvanceFiresEverythingInDeadlineOrder() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        for (int i = 0; i < 2000; i++) {
+            long deadline = 1 + (long) (random.nextDouble() * 3 * OVERFLOW);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(3 * OVERFLOW + 1, fired::add);
+
+        Collections.sort(deadlines);
+        assertThat(fired).isEqualTo(deadlines);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 50_000);
+        wheel.schedule(10_000, "late");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(50_999, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(51_000, fired::add);
+        assertThat(fired).containsExactly("late");
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFireOnAnyLevel() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        List<TimingWheel.Timeout<Long>> timeouts = new ArrayList<>();
+        for (long deadline : new long[]{3, LEVEL_1 + 3, LEVEL_2 + 3, LEVEL_3 + 3, OVERFLOW + 3}) {
+            timeouts.add(wheel.schedule(deadline, deadline));
+        }
+        TimingWheel.Timeout<Long> kept = wheel.schedule(LEVEL_2 + 4, -1L);
+        timeouts.forEach(wheel::cancel);
+        wheel.cancel(timeouts.get(0));
+        assertThat(wheel.size()).isEqualTo(1);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(2 * OVERFLOW, fired::add);
+
+        assertThat(fired).containsExactly(kept.getTask());
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelThenRescheduleFiresOnceAtTheNewDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        TimingWheel.Timeout<String> original = wheel.schedule(LEVEL_2 + 10, "reminder");
+        Map<String, List<Long>> fired = new LinkedHashMap<>();
+        long[] now = new long[1];
+
+        // move the deadline earlier, onto level 0
+        wheel.cancel(original);
+        TimingWheel.Timeout<String> earlier = wheel.schedule(20, "reminder");
+        // and then later again, past a level-2 boundary
+        wheel.cancel(earlier);
+        wheel.schedule(LEVEL_3 + 5, "reminder");
+        assertThat(wheel.size()).isEqualTo(1);
+
+        for (now[0] = 1; now[0] <= LEVEL_3 + LEVEL_1; now[0]++) {
+            wheel.advance(now[0], task -> fired.computeIfAbsent(task, t -> new ArrayList<>()).add(now[0]));
+        }
+
+        assertThat(fired).containsOnlyKeys("reminder");
+        assertThat(fired.get("reminder")).containsExactly(LEVEL_3 + 5);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancellingAFiredTimeoutDoesNotChangeTheSize() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        TimingWheel.Timeout<String> timeout = wheel.schedule(2, "a");
+        wheel.schedule(5, "b");
+        wheel.advance(3, task -> { });
+
+        wheel.cancel(timeout);
+
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    // advances one tick at a time and checks that every task fires exactly on its deadline tick
+    private static void assertFiresOnTime(long start, long[] deadlines) {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, start);
+        List<Long> shuffled = new ArrayList<>();
+        for (long deadline : deadlines) {
+            shuffled.add(deadline);
+        }
+        Collections.shuffle(shuffled, new Random(7));
+        for (long deadline : shuffled) {
+            wheel.schedule(deadline, deadline);
+        }
+        long last = 0;
+        for (long deadline : deadlines) {
+            last = Math.max(last, deadline);
+        }
+
+        Map<Long, Long> firedAt = new LinkedHashMap<>();
+        long[] now = new long[1];
+        for (now[0] = start + 1; now[0] <= last + 1; now[0]++) {
+            wheel.advance(now[0], task -> firedAt.put(task, now[0]));
+        }
+
+        assertThat(firedAt).hasSize(deadlines.length);
+        for (long deadline : deadlines) {
+            assertThat(firedAt.get(deadline)).as("deadline %d", deadline).isEqualTo(deadline);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+}